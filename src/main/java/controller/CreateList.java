@@ -10,12 +10,12 @@ import com.google.gson.Gson;
 import com.google.gson.JsonSyntaxException;
 
 import model.Task;
+import model.Timestamps;
 import util.ApiResponseBuilder;
+import util.AwsClientRegistry;
+import util.Priming;
 
-import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
-import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
-import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
 
 import java.util.UUID;
 
@@ -26,16 +26,9 @@ public class CreateList implements RequestHandler<APIGatewayProxyRequestEvent, A
 
     // Construtor usado pela lambda
     public CreateList() {
-        DynamoDbClient client = DynamoDbClient.builder().build();
-        DynamoDbEnhancedClient enhanced = DynamoDbEnhancedClient.builder()
-                .dynamoDbClient(client)
-                .build();
-
-        //é usado para acessar as variáveis de ambiente do sistema operacional
-        String tableName = System.getenv("TASKS_TABLE");
-
-        this.table = enhanced.table(tableName, TableSchema.fromBean(Task.class));
-        this.json = new Gson();
+        // Clientes e tabela vêm do registro compartilhado da JVM
+        this(AwsClientRegistry.taskTable(), new Gson());
+        Priming.register(json);
     }
 
     // Construtor auxiliar para testes
@@ -71,12 +64,17 @@ public class CreateList implements RequestHandler<APIGatewayProxyRequestEvent, A
 
             String newSk = skPrefix + UUID.randomUUID();
             task.setSk(newSk);
+            task.setVersion(1L);
+            task.setUpdatedAt(Timestamps.now());
+            // Contadores de itens mantidos pelas escritas nos itens da lista
+            task.setItemCount(0L);
+            task.setDoneCount(0L);
 
             table.putItem(task);
 
             log.log("Tarefa criada com sucesso!! ID: " + task.getSk());
 
-            return ApiResponseBuilder.createSuccessResponse(201, json.toJson(task));
+            return ApiResponseBuilder.createSuccessResponse(201, task);
 
         } catch (JsonSyntaxException ex) {
             log.log("Erro de sintaxe JSON: " + ex.getMessage());
@@ -5,35 +5,30 @@ import com.amazonaws.services.lambda.runtime.LambdaLogger;
 import com.amazonaws.services.lambda.runtime.RequestHandler;
 import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
 import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
-import com.google.gson.Gson;
 import model.Task;
+import repository.CachingTaskRepository;
 import repository.TaskRepository;
-import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
-import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
-import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
-import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.enhanced.dynamodb.Key;
 import util.ApiResponseBuilder;
+import util.AwsClientRegistry;
+import util.Priming;
+import util.Projection;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
 public class GetListById implements RequestHandler<APIGatewayProxyRequestEvent, APIGatewayProxyResponseEvent> {
-    private final Gson gson = new Gson();
-    private final DynamoDbTable<Task> table;
+    static final int MAX_KEYS = 100;
+
     private final TaskRepository repository;
 
     public GetListById() {
-        DynamoDbClient client = DynamoDbClient.builder().build();
-        DynamoDbEnhancedClient enhancedClient = DynamoDbEnhancedClient.builder().dynamoDbClient(client).build();
-
-        String tableName = System.getenv("TASKS_TABLE");
-
-        this.table = enhancedClient.table(tableName, TableSchema.fromBean(Task.class));
-        this.repository = new TaskRepository(table);
+        this.repository = AwsClientRegistry.taskRepository();
+        Priming.register();
     }
 
-    public GetListById(DynamoDbTable<Task> table, TaskRepository repository) {
-        this.table = table;
+    public GetListById(TaskRepository repository) {
         this.repository = repository;
     }
 
@@ -48,6 +43,14 @@ public class GetListById implements RequestHandler<APIGatewayProxyRequestEvent,
                 return ApiResponseBuilder.createErrorResponse(400, "Os parâmetros 'pk' e 'sk' são obrigatórios.");
             }
 
+            List<String> fields = Projection.parseFields(queryParams.get("fields"));
+
+            // Modo de várias chaves: keys=pk|sk,pk|sk,... (na ordem pedida, sem repetir chaves nem incluir as inexistentes)
+            String keysParam = queryParams.get("keys");
+            if (keysParam != null) {
+                return handleMultiKey(keysParam, fields, logger);
+            }
+
             String pk = queryParams.get("pk");
             String sk = queryParams.get("sk");
 
@@ -61,7 +64,10 @@ public class GetListById implements RequestHandler<APIGatewayProxyRequestEvent,
                 return ApiResponseBuilder.createErrorResponse(400, "Parâmetro 'sk' é obrigatório");
             }
 
-            List<Task> list = repository.getTask(pk,sk);
+            List<Task> list = repository.getTask(pk, sk, fields);
+            if (repository instanceof CachingTaskRepository cache) {
+                logger.log(cache.stats());
+            }
 
             if (list == null) {
                 logger.log("Item não encontrado com pk: " + pk + ", sk: " + sk);
@@ -70,10 +76,33 @@ public class GetListById implements RequestHandler<APIGatewayProxyRequestEvent,
 
             return ApiResponseBuilder.createSuccessResponse(200, list);
 
+        } catch (IllegalArgumentException ex) {
+            return ApiResponseBuilder.createErrorResponse(400, ex.getMessage());
         } catch (Exception ex) {
             logger.log("Erro inesperado ao listar itens: " + ex.getMessage());
             logger.log(ex.toString());
             return ApiResponseBuilder.createErrorResponse(500, "Erro interno do servidor");
         }
     }
+
+    private APIGatewayProxyResponseEvent handleMultiKey(String keysParam, List<String> fields, LambdaLogger logger) {
+        String[] pairs = keysParam.split(",");
+        if (keysParam.isBlank() || pairs.length > MAX_KEYS){
+            return ApiResponseBuilder.createErrorResponse(400, "O parâmetro 'keys' deve ter entre 1 e " + MAX_KEYS + " chaves no formato pk|sk");
+        }
+
+        List<Key> keys = new ArrayList<>(pairs.length);
+        for (String pair : pairs) {
+            String[] parts = pair.split("\\|", -1);
+            if (parts.length != 2 || parts[0].isBlank() || !parts[0].contains("#") || parts[1].isBlank()){
+                return ApiResponseBuilder.createErrorResponse(400, "Chave inválida em 'keys': " + pair);
+            }
+            keys.add(Key.builder().partitionValue(parts[0].trim()).sortValue(parts[1].trim()).build());
+        }
+
+        logger.log("Processando requisição para " + keys.size() + " chaves");
+
+        List<Task> list = repository.batchGetTasks(keys, fields);
+        return ApiResponseBuilder.createSuccessResponse(200, list);
+    }
 }
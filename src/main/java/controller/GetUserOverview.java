@@ -0,0 +1,155 @@
+package controller;
+
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.LambdaLogger;
+import com.amazonaws.services.lambda.runtime.RequestHandler;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
+import model.ListOverview;
+import model.Task;
+import repository.TaskRepository;
+import software.amazon.awssdk.enhanced.dynamodb.model.Page;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import util.ApiResponseBuilder;
+import util.AwsClientRegistry;
+import util.Pagination;
+import util.Priming;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Visão geral de um usuário: as listas dele, cada uma com a primeira página dos seus itens, em uma única resposta.
+ * Substitui o ListLists seguido de um ListItemsList por lista feito pelo cliente: as consultas dos itens
+ * são feitas aqui, em paralelo, em virtual threads, até o limite de concorrência.
+ */
+public class GetUserOverview implements RequestHandler<APIGatewayProxyRequestEvent, APIGatewayProxyResponseEvent> {
+
+    static final int DEFAULT_ITEMS_PER_LIST = 20;
+    static final int MAX_ITEMS_PER_LIST = 100;
+    static final int DEFAULT_PARALLELISM = 8;
+
+    private static final String LIST_PREFIX = "LIST#";
+
+    private final TaskRepository repository;
+    private final int parallelism;
+
+    public GetUserOverview() {
+        this.repository = AwsClientRegistry.taskRepository();
+        this.parallelism = parallelismFromEnv();
+        Priming.register();
+    }
+
+    public GetUserOverview(TaskRepository repository, int parallelism) {
+        this.repository = repository;
+        this.parallelism = parallelism;
+    }
+
+    // Paralelismo configurável pela variável de ambiente OVERVIEW_PARALLELISM
+    private static int parallelismFromEnv() {
+        String value = System.getenv("OVERVIEW_PARALLELISM");
+        try {
+            return value != null ? Math.max(1, Integer.parseInt(value.trim())) : DEFAULT_PARALLELISM;
+        } catch (NumberFormatException e) {
+            return DEFAULT_PARALLELISM;
+        }
+    }
+
+    @Override
+    public APIGatewayProxyResponseEvent handleRequest(APIGatewayProxyRequestEvent requestEvent, Context context) {
+        LambdaLogger logger = context.getLogger();
+
+        try {
+            Map<String, String> queryParams = requestEvent.getQueryStringParameters();
+            String pk = null;
+
+            if (queryParams != null) {
+                pk = queryParams.get("pk");
+            }
+            if (pk == null || pk.isBlank() || !pk.contains("#")) {
+                return ApiResponseBuilder.createErrorResponse(400, "Parâmetro 'pk' é obrigatório");
+            }
+
+            // 'limit' e 'nextToken' paginam as listas; 'itemsPerList' limita os itens devolvidos de cada uma
+            int limit = Pagination.parseLimit(queryParams.get("limit"));
+            Map<String, AttributeValue> startKey = Pagination.decodeToken(queryParams.get("nextToken"), pk);
+            int itemsPerList = parseItemsPerList(queryParams.get("itemsPerList"));
+
+            logger.log("Montando visão geral de " + pk);
+            long start = System.nanoTime();
+
+            Page<Task> lists = repository.getTasksPageByPk(pk, limit, startKey);
+            List<ListOverview> overview = loadItems(lists.items(), itemsPerList);
+
+            logger.log("Visão geral de " + pk + " com " + overview.size() + " listas montada em " + (System.nanoTime() - start) / 1_000_000 + " ms");
+            return ApiResponseBuilder.createPagedResponse(200, overview, Pagination.encodeToken(lists.lastEvaluatedKey()), limit);
+
+        } catch (IllegalArgumentException ex) {
+            return ApiResponseBuilder.createErrorResponse(400, ex.getMessage());
+        } catch (Exception ex) {
+            logger.log("Erro inesperado ao montar a visão geral: " + ex.getMessage());
+            return ApiResponseBuilder.createErrorResponse(500, "Erro interno do servidor");
+        }
+    }
+
+    /**
+     * Busca a primeira página de itens de cada lista em paralelo, mantendo a ordem das listas.
+     * @throws IllegalStateException Se a consulta de alguma lista falhar.
+     */
+    private List<ListOverview> loadItems(List<Task> lists, int itemsPerList) throws InterruptedException {
+        Semaphore permits = new Semaphore(parallelism);
+        List<Task> headers = new ArrayList<>(lists.size());
+        List<Future<Page<Task>>> pages = new ArrayList<>(lists.size());
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (Task list : lists) {
+                if (list.getSk() == null || !list.getSk().startsWith(LIST_PREFIX)) {
+                    continue;
+                }
+                headers.add(list);
+                pages.add(executor.submit(() -> {
+                    permits.acquire();
+                    try {
+                        // Os itens de uma lista ficam na partição cujo pk é o sk da lista
+                        return repository.getTasksPageByPk(list.getSk(), itemsPerList, null);
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
+
+            List<ListOverview> overview = new ArrayList<>(headers.size());
+            for (int i = 0; i < headers.size(); i++) {
+                Page<Task> page;
+                try {
+                    page = pages.get(i).get();
+                } catch (ExecutionException e) {
+                    throw new IllegalStateException("Falha ao buscar os itens da lista " + headers.get(i).getSk(), e.getCause());
+                }
+                overview.add(new ListOverview(headers.get(i), page.items(), Pagination.encodeToken(page.lastEvaluatedKey())));
+            }
+            return overview;
+        }
+    }
+
+    private static int parseItemsPerList(String value) {
+        if (value == null || value.isBlank()) {
+            return DEFAULT_ITEMS_PER_LIST;
+        }
+        try {
+            int parsed = Integer.parseInt(value.trim());
+            if (parsed <= 0) {
+                throw new IllegalArgumentException("Parâmetro 'itemsPerList' deve ser maior que zero");
+            }
+            return Math.min(parsed, MAX_ITEMS_PER_LIST);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Parâmetro 'itemsPerList' deve ser um número inteiro");
+        }
+    }
+}
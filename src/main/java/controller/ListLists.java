@@ -3,34 +3,28 @@ import com.amazonaws.services.lambda.runtime.Context;
 import com.amazonaws.services.lambda.runtime.RequestHandler;
 import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
 import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
-import com.google.gson.Gson;
 import com.google.gson.JsonSyntaxException;
 import model.Task;
 import repository.TaskRepository;
+import software.amazon.awssdk.enhanced.dynamodb.model.Page;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
 import util.ApiResponseBuilder;
-import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
-import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
-import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
-import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import util.AwsClientRegistry;
+import util.Pagination;
+import util.Priming;
+import util.Projection;
 
 import java.util.List;
+import java.util.Map;
 
 public class ListLists implements RequestHandler<APIGatewayProxyRequestEvent, APIGatewayProxyResponseEvent> {
 
-    private final Gson jsonConverter = new Gson();
     private final TaskRepository repository;
 
     // Construtor padrão usado na Lambda
     public ListLists() {
-        DynamoDbClient client = DynamoDbClient.builder().build();
-        DynamoDbEnhancedClient enhanced = DynamoDbEnhancedClient.builder()
-                .dynamoDbClient(client)
-                .build();
-
-        String tableName = System.getenv("TASKS_TABLE");
-        DynamoDbTable<Task> taskTable = enhanced.table(tableName, TableSchema.fromBean(Task.class));
-
-        this.repository = new TaskRepository(taskTable);
+        this.repository = AwsClientRegistry.taskRepository();
+        Priming.register();
     }
 
     // Construtor para testes
@@ -44,18 +38,27 @@ public class ListLists implements RequestHandler<APIGatewayProxyRequestEvent, AP
         log.log("Requisição recebida para listar tarefas: " + event.getBody());
 
         try {
+            Map<String, String> queryParams = event.getQueryStringParameters();
             String pk = null;
 
-            if (event.getQueryStringParameters() != null){
-                pk = event.getQueryStringParameters().get("pk");
+            if (queryParams != null){
+                pk = queryParams.get("pk");
             }
             if (pk == null || pk.isBlank() || !pk.contains("#")) {
                 return ApiResponseBuilder.createErrorResponse(400, "Parâmetro 'pk' é obrigatório");
             }
 
-            List<Task> taskList = repository.getTasksByPk(pk);
-            return ApiResponseBuilder.createSuccessResponse(200, taskList);
+            int limit = Pagination.parseLimit(queryParams.get("limit"));
+            Map<String, AttributeValue> startKey = Pagination.decodeToken(queryParams.get("nextToken"), pk);
+            List<String> fields = Projection.parseFields(queryParams.get("fields"));
+
+            Page<Task> page = repository.getTasksPageByPk(pk, limit, startKey, fields);
+            String nextToken = Pagination.encodeToken(page.lastEvaluatedKey());
+
+            return ApiResponseBuilder.createPagedResponse(200, page.items(), nextToken, limit);
 
+        } catch (IllegalArgumentException ex) {
+            return ApiResponseBuilder.createErrorResponse(400, ex.getMessage());
         } catch (JsonSyntaxException ex) {
             log.log("Falha ao processar JSON: " + ex.getMessage());
             return ApiResponseBuilder.createErrorResponse(400, "Requisição inválida");
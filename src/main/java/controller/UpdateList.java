@@ -8,12 +8,12 @@ import com.google.gson.Gson;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonSyntaxException;
 import model.Task;
+import repository.TaskRepository;
+import repository.VersionConflictException;
 import util.ApiResponseBuilder;
-import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
-import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
-import software.amazon.awssdk.enhanced.dynamodb.Key;
-import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
-import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import util.AwsClientRegistry;
+import util.JsonBody;
+import util.Priming;
 import java.net.URLDecoder;
 import java.nio.charset.StandardCharsets;
 
@@ -22,20 +22,15 @@ import java.util.Map;
 public class UpdateList implements RequestHandler<APIGatewayProxyRequestEvent, APIGatewayProxyResponseEvent> {
 
     private final Gson gson = new Gson();
-    private final DynamoDbTable<Task> table;
+    private final TaskRepository repository;
 
     public UpdateList() {
-        DynamoDbClient client = DynamoDbClient.builder().build();
-        DynamoDbEnhancedClient enhanced = DynamoDbEnhancedClient.builder()
-                .dynamoDbClient(client)
-                .build();
-
-        String tableName = System.getenv("TASKS_TABLE");
-        this.table = enhanced.table(tableName, TableSchema.fromBean(Task.class));
+        this.repository = AwsClientRegistry.taskRepository();
+        Priming.register(gson);
     }
 
-    public UpdateList(DynamoDbTable<Task> table) {
-        this.table = table;
+    public UpdateList(TaskRepository repository) {
+        this.repository = repository;
     }
 
     @Override
@@ -68,28 +63,29 @@ public class UpdateList implements RequestHandler<APIGatewayProxyRequestEvent, A
                 return ApiResponseBuilder.createErrorResponse(400, "O corpo da requisição não pode estar vazio");
             }
             JsonObject body = gson.fromJson(request.getBody(), JsonObject.class);
-            // Busca task existente
-            Task existing = table.getItem(
-                    Key.builder().partitionValue(pk).sortValue(sk).build()
-            );
-            if (existing == null) {
-                return ApiResponseBuilder.createErrorResponse(404, "Task não encontrada");
-            }
-            // Aplica atualizações
-            if (!body.has("description")) {
+            String newDescription = JsonBody.optionalString(body, "description");
+            if (newDescription == null) {
                 return ApiResponseBuilder.createErrorResponse(400, "Campo 'description' é obrigatório");
             }
 
-            String newDescription = body.get("description").getAsString();
+            // Versão lida pelo cliente (opcional); quando enviada, protege contra escritas concorrentes
+            Long expectedVersion = JsonBody.optionalLong(body, "version");
 
-            // Atualiza descrição
-            existing.setDescription(newDescription);
-            table.putItem(existing);
+            // Atualiza descrição e versão em uma única chamada condicional
+            Task existing = repository.updateDescription(pk, sk, newDescription, expectedVersion);
+            if (existing == null) {
+                return ApiResponseBuilder.createErrorResponse(404, "Task não encontrada");
+            }
 
             log.log("Task atualizada com sucesso! PK=" + existing.getPk() + " SK=" + existing.getSk());
 
-            return ApiResponseBuilder.createSuccessResponse(200, gson.toJson(existing));
+            return ApiResponseBuilder.createSuccessResponse(200, existing);
 
+        } catch (VersionConflictException ex) {
+            log.log("Conflito de versão: " + ex.getMessage());
+            return ApiResponseBuilder.createErrorResponse(409, "A task foi alterada por outra requisição. Recarregue e tente novamente.");
+        } catch (IllegalArgumentException ex) {
+            return ApiResponseBuilder.createErrorResponse(400, ex.getMessage());
         } catch (JsonSyntaxException ex) {
             log.log("Erro de JSON: " + ex.getMessage());
             return ApiResponseBuilder.createErrorResponse(400, "JSON inválido");
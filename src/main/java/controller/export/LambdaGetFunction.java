@@ -3,173 +3,459 @@ package controller.export;
 import com.amazonaws.services.lambda.runtime.Context;
 import com.amazonaws.services.lambda.runtime.LambdaLogger;
 import com.amazonaws.services.lambda.runtime.RequestHandler;
+import com.amazonaws.services.lambda.runtime.events.SQSBatchResponse;
 import com.amazonaws.services.lambda.runtime.events.SQSEvent;
 import com.google.gson.Gson;
 import com.google.gson.reflect.TypeToken;
-import jakarta.activation.DataHandler;
-import jakarta.mail.Message;
 import jakarta.mail.MessagingException;
-import jakarta.mail.Multipart;
-import jakarta.mail.Session;
-import jakarta.mail.internet.InternetAddress;
-import jakarta.mail.internet.MimeBodyPart;
-import jakarta.mail.internet.MimeMessage;
-import jakarta.mail.internet.MimeMultipart;
-import jakarta.mail.util.ByteArrayDataSource;
+import model.ListOverview;
 import model.Task;
+import model.Timestamps;
+import repository.AccountReader;
 import repository.TaskRepository;
-import software.amazon.awssdk.core.SdkBytes;
-import software.amazon.awssdk.core.sync.RequestBody;
-import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
-import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
-import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
-import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
 import software.amazon.awssdk.services.s3.S3Client;
-import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.CopyObjectRequest;
+import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
 import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+import software.amazon.awssdk.services.s3.presigner.model.GetObjectPresignRequest;
 import software.amazon.awssdk.services.ses.SesClient;
 import software.amazon.awssdk.services.ses.model.RawMessage;
 import software.amazon.awssdk.services.ses.model.SendRawEmailRequest;
 import software.amazon.awssdk.services.ses.model.SesException;
-import util.Csv;
+import util.CappedCopyOutputStream;
+import util.Compression;
+import util.ExportFingerprint;
+import util.AwsClientRegistry;
+import util.Priming;
+import util.RawEmailBuilder;
+import util.S3MultipartOutputStream;
+import util.format.AccountRow;
+import util.format.ExportFormat;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.lang.reflect.Type;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.Properties;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 
-public class LambdaGetFunction implements RequestHandler<SQSEvent, Void> {
+public class LambdaGetFunction implements RequestHandler<SQSEvent, SQSBatchResponse> {
 
     private final TaskRepository repository;
     private final S3Client s3Client;
     private final SesClient sesClient;
     private final String s3BucketName;
     private final String sesFromEmail;
+    private final int maxConcurrency;
+    private final int accountParallelism;
+    private final S3Presigner presigner;
+    private final int attachmentMaxBytes;
+    private final Duration linkTtl;
     private final Gson gson = new Gson();
 
+    // Relatórios até esse tamanho vão anexados; acima dele o e-mail leva um link temporário para o S3
+    static final int DEFAULT_ATTACHMENT_MAX_BYTES = 5 * 1024 * 1024;
+    // O SES aceita mensagens de até 10 MB; em Base64 o anexo cresce 1/3, então nenhum limite configurado passa disso
+    static final int SES_ATTACHMENT_MAX_BYTES = 7 * 1024 * 1024;
+
+    static final int DEFAULT_LINK_TTL_MINUTES = 60;
+
+    static final int DEFAULT_MAX_CONCURRENCY = 5;
+
+    // Listas lidas em paralelo (à frente da que está sendo escrita) em uma exportação da conta inteira
+    static final int DEFAULT_ACCOUNT_PARALLELISM = 16;
+
+    // Modos de exportação: completa (padrão), só os itens alterados desde a última exportação, ou todas as listas do usuário
+    static final String MODE_FULL = "full";
+    static final String MODE_DELTA = "delta";
+    static final String MODE_ACCOUNT = "account";
+
+    // Recuo da marca d'água em relação ao início da exportação: cobre o atraso de propagação do GSI e a diferença
+    // de relógio entre as funções que gravam updatedAt; os itens dessa janela voltam na próxima incremental
+    static final Duration WATERMARK_SAFETY_LAG = Duration.ofSeconds(10);
+
+    // Arquivo da exportação da conta: um único arquivo com todas as listas (padrão) ou um zip com um arquivo por lista
+    static final String LAYOUT_COMBINED = "combined";
+    static final String LAYOUT_ZIP = "zip";
+
     public LambdaGetFunction() {
-        DynamoDbClient client = DynamoDbClient.builder().build();
-        DynamoDbEnhancedClient enhancedClient = DynamoDbEnhancedClient.builder().dynamoDbClient(client).build();
-        String tableName = System.getenv("TASKS_TABLE");
-        DynamoDbTable<Task> table = enhancedClient.table(tableName, TableSchema.fromBean(Task.class));
-
-        this.repository = new TaskRepository(table);
-        this.s3Client = S3Client.builder().build();
-        this.sesClient = SesClient.builder().build();
+        this.repository = AwsClientRegistry.taskRepository();
+        this.s3Client = AwsClientRegistry.s3();
+        this.sesClient = AwsClientRegistry.ses();
         this.s3BucketName = System.getenv("S3_BUCKET_NAME");
         this.sesFromEmail = System.getenv("SES_FROM_EMAIL"); // E-mail verificado no SES
+        this.maxConcurrency = intFromEnv("EXPORT_MAX_CONCURRENCY", DEFAULT_MAX_CONCURRENCY);
+        this.accountParallelism = intFromEnv("EXPORT_ACCOUNT_PARALLELISM", DEFAULT_ACCOUNT_PARALLELISM);
+        this.presigner = AwsClientRegistry.s3Presigner();
+        this.attachmentMaxBytes = Math.min(intFromEnv("EXPORT_ATTACHMENT_MAX_BYTES", DEFAULT_ATTACHMENT_MAX_BYTES), SES_ATTACHMENT_MAX_BYTES);
+        this.linkTtl = Duration.ofMinutes(intFromEnv("EXPORT_LINK_TTL_MINUTES", DEFAULT_LINK_TTL_MINUTES));
+        Priming.register(gson);
     }
 
     public LambdaGetFunction(TaskRepository repository, S3Client s3Client, SesClient sesClient, String s3BucketName, String sesFromEmail) {
+        this(repository, s3Client, sesClient, s3BucketName, sesFromEmail, DEFAULT_MAX_CONCURRENCY);
+    }
+
+    public LambdaGetFunction(TaskRepository repository, S3Client s3Client, SesClient sesClient, String s3BucketName, String sesFromEmail, int maxConcurrency) {
+        this(repository, s3Client, sesClient, null, s3BucketName, sesFromEmail, maxConcurrency, DEFAULT_ATTACHMENT_MAX_BYTES);
+    }
+
+    public LambdaGetFunction(TaskRepository repository, S3Client s3Client, SesClient sesClient, S3Presigner presigner, String s3BucketName, String sesFromEmail, int maxConcurrency, int attachmentMaxBytes) {
         this.repository = repository;
         this.s3Client = s3Client;
         this.sesClient = sesClient;
+        this.presigner = presigner;
         this.s3BucketName = s3BucketName;
         this.sesFromEmail = sesFromEmail;
+        this.maxConcurrency = maxConcurrency;
+        this.accountParallelism = DEFAULT_ACCOUNT_PARALLELISM;
+        this.attachmentMaxBytes = attachmentMaxBytes;
+        this.linkTtl = Duration.ofMinutes(DEFAULT_LINK_TTL_MINUTES);
+    }
+
+    // Lê um inteiro positivo das variáveis de ambiente (EXPORT_MAX_CONCURRENCY, EXPORT_ATTACHMENT_MAX_BYTES, ...)
+    private static int intFromEnv(String name, int defaultValue) {
+        String value = System.getenv(name);
+        try {
+            return value != null ? Math.max(1, Integer.parseInt(value.trim())) : defaultValue;
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
     }
 
 //    Processa as mensagens da fila SQS.
+//    As mensagens do lote são exportadas em paralelo, em virtual threads, até o limite de concorrência.
+//    Cada mensagem é tratada de forma isolada: só as que falharem voltam para a fila (ReportBatchItemFailures).
     @Override
-    public Void handleRequest(SQSEvent sqsEvent, Context context) {
+    public SQSBatchResponse handleRequest(SQSEvent sqsEvent, Context context) {
         LambdaLogger logger = context.getLogger();
+        List<SQSEvent.SQSMessage> records = sqsEvent.getRecords(); // obter a lista de mensagens do Amazon SQS contidas no objeto SQSEvent
+        List<SQSBatchResponse.BatchItemFailure> failures = new ArrayList<>();
 
-        for (SQSEvent.SQSMessage msg : sqsEvent.getRecords()) {// sqsEvent.getRecords() obter a lista de mensagens do Amazon SQS contidas no objeto SQSEvent
-            String messageId = msg.getMessageId();
-            try {
-                logger.log("Processando mensagem SQS: " + messageId);
+        Semaphore permits = new Semaphore(maxConcurrency);
+        List<Future<Boolean>> results = new ArrayList<>(records.size());
 
-                String body = msg.getBody();
-                Type type = new TypeToken<Map<String, String>>() {}.getType();
-                Map<String, String> bodyContent = gson.fromJson(body, type);
-
-                String pk = bodyContent.get("pk");
-                String userEmail = bodyContent.get("email");
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (SQSEvent.SQSMessage msg : records) {
+                results.add(executor.submit(() -> processIsolated(msg, permits, logger)));
+            }
 
-                if (pk == null || userEmail == null) {
-                    logger.log("Mensagem mal formatada (pk ou email ausente): " + messageId);
-                    continue;
+            for (int i = 0; i < records.size(); i++) {
+                boolean succeeded;
+                try {
+                    succeeded = results.get(i).get();
+                } catch (ExecutionException e) {
+                    succeeded = false;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    succeeded = false;
+                }
+                if (!succeeded) {
+                    failures.add(new SQSBatchResponse.BatchItemFailure(records.get(i).getMessageId()));
                 }
+            }
+        }
+        return new SQSBatchResponse(failures);
+    }
 
-                logger.log("Conteúdo da requisição: pk=" + pk + ", email=" + userEmail);
+    // Processa uma mensagem sem deixar a falha dela afetar as outras; devolve false se ela deve voltar para a fila
+    private boolean processIsolated(SQSEvent.SQSMessage msg, Semaphore permits, LambdaLogger logger) throws InterruptedException {
+        String messageId = msg.getMessageId();
+        permits.acquire();
+        long start = System.nanoTime();
+        try {
+            processMessage(msg, logger);
+            logger.log("Mensagem " + messageId + " processada em " + elapsedMillis(start) + " ms");
+            return true;
+        } catch (Exception e) {
+            logger.log("Falha ao processar mensagem " + messageId + " após " + elapsedMillis(start) + " ms: " + e.getMessage());
+            e.printStackTrace();
+            return false;
+        } finally {
+            permits.release();
+        }
+    }
 
-                List<Task> tasks = repository.getTasksByPk(pk);
-                if (tasks == null || tasks.isEmpty()) {
+    private static long elapsedMillis(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
 
-                    logger.log("Nenhuma tarefa encontrada para o pk: " + pk + ". E-mail não será enviado.");
-                    continue;
-                }
-                logger.log(tasks.size() + " tarefas encontradas para " + pk);
+    // Mensagens mal formatadas ou sem tarefas são descartadas (retornam sem erro); qualquer exceção devolve a mensagem à fila
+    private void processMessage(SQSEvent.SQSMessage msg, LambdaLogger logger) throws Exception {
+        String messageId = msg.getMessageId();
+        logger.log("Processando mensagem SQS: " + messageId);
+
+        String body = msg.getBody();
+        Type type = new TypeToken<Map<String, String>>() {}.getType();
+        Map<String, String> bodyContent = gson.fromJson(body, type);
 
-                byte[] csvBytes = Csv.generateCsv(tasks);
-                logger.log("Arquivo CSV gerado com " + csvBytes.length + " bytes.");
+        String pk = bodyContent.get("pk");
+        String userEmail = bodyContent.get("email");
 
-                String s3Key = "exports/" + pk.replace("#", "-") + "/" + System.currentTimeMillis() + ".csv";
-                uploadToS3(csvBytes, s3Key, logger);
-                logger.log("Arquivo salvo no S3 em s3://" + s3BucketName + "/" + s3Key);
+        if (pk == null || userEmail == null) {
+            logger.log("Mensagem mal formatada (pk ou email ausente): " + messageId);
+            return;
+        }
 
-                sendEmailWithAttachment(userEmail, csvBytes, s3Key, logger);
-                logger.log("E-mail enviado com sucesso para " + userEmail);
+        ExportFormat format;
+        Compression compression;
+        try {
+            format = ExportFormat.fromParam(bodyContent.get("format"));
+            compression = Compression.fromParam(bodyContent.get("compression"));
+        } catch (IllegalArgumentException e) {
+            logger.log("Mensagem mal formatada (" + e.getMessage() + "): " + messageId);
+            return;
+        }
 
-            } catch (Exception e) {
-                logger.log("Falha ao processar mensagem " + messageId + ": " + e.getMessage());
-                e.printStackTrace();
-                throw new RuntimeException("Falha ao processar mensagem SQS: " + e.getMessage(), e);
+        String mode = bodyContent.get("mode");
+        if (mode != null && !MODE_FULL.equals(mode) && !MODE_DELTA.equals(mode) && !MODE_ACCOUNT.equals(mode)) {
+            logger.log("Mensagem mal formatada (modo inválido): " + messageId);
+            return;
+        }
+        if (MODE_ACCOUNT.equals(mode)) {
+            String layout = bodyContent.get("layout");
+            if (layout != null && !LAYOUT_COMBINED.equals(layout) && !LAYOUT_ZIP.equals(layout)) {
+                logger.log("Mensagem mal formatada (layout inválido): " + messageId);
+                return;
             }
+            processAccountExport(pk, userEmail, format, compression, LAYOUT_ZIP.equals(layout), logger);
+            return;
+        }
+        boolean delta = MODE_DELTA.equals(mode);
+
+        logger.log("Conteúdo da requisição: pk=" + pk + ", email=" + userEmail + ", formato=" + format.name() + ", compressão=" + compression + ", modo=" + (delta ? MODE_DELTA : MODE_FULL));
+
+        // A marca d'água nunca passa do início da exportação menos a margem de segurança
+        String watermarkCeiling = Timestamps.format(Instant.now().minus(WATERMARK_SAFETY_LAG));
+        // Sem uma exportação anterior registrada, a primeira incremental é completa
+        String since = delta ? repository.getExportWatermark(userEmail, pk) : null;
+        String fingerprintSeed = since != null ? pk + "@" + since : pk;
+
+        // Primeira leitura, só das chaves, versões e updatedAt: basta para a impressão digital e para saber se algo mudou
+        DeltaItems keys = new DeltaItems(since != null
+                ? repository.streamTasksUpdatedSince(pk, since, ExportFingerprint.FIELDS).iterator()
+                : repository.streamTasksByPk(pk, ExportFingerprint.FIELDS).iterator(), since);
+        ExportFingerprint fingerprint = ExportFingerprint.of(fingerprintSeed, keys);
+        // A consulta incremental é inclusiva: se só vieram os itens da borda, já exportados da última vez, nada mudou
+        if (fingerprint.getItemCount() == 0 || keys.getChangedCount() == 0) {
+            logger.log("Nenhuma tarefa encontrada para o pk: " + pk + (since != null ? " alterada desde " + since : "") + ". E-mail não será enviado.");
+            return;
+        }
+        logger.log(fingerprint.getItemCount() + " tarefas encontradas para " + pk);
+
+        // A chave depende só do conteúdo: se a lista não mudou, o arquivo já exportado é reaproveitado sem ser gerado de novo
+        String extension = format.extension() + compression.getExtension();
+        String s3Key = exportKey(pk, since, fingerprint, extension);
+        DeltaItems exported = keys;
+        byte[] attachment;
+        Long existingSize = existingObjectSize(s3Key);
+        if (existingSize != null) {
+            logger.log("Lista sem alterações; reaproveitando s3://" + s3BucketName + "/" + s3Key);
+            attachment = existingSize <= attachmentMaxBytes ? downloadFromS3(s3Key) : null;
+        } else {
+            // Segunda leitura, dos itens completos: as páginas do DynamoDB são lidas sob demanda, conforme as linhas
+            // do arquivo vão sendo escritas, e a impressão digital é conferida sobre o que de fato foi escrito
+            exported = new DeltaItems(since != null
+                    ? repository.streamTasksUpdatedSince(pk, since).iterator()
+                    : repository.streamTasksByPk(pk).iterator(), since);
+            ExportFingerprint.Hasher hashed = ExportFingerprint.hashing(fingerprintSeed, exported);
+            S3MultipartOutputStream s3Out = new S3MultipartOutputStream(s3Client, s3BucketName, s3Key, format.contentType(), compression.getContentEncoding());
+            // O anexo recebe os mesmos bytes (já comprimidos) que vão para o S3
+            CappedCopyOutputStream attachmentOut = new CappedCopyOutputStream(s3Out, attachmentMaxBytes);
+
+            OutputStream out = compression.wrap(attachmentOut);
+            writeToS3(() -> format.write(hashed, out), out, s3Out, logger);
+            logger.log("Arquivo " + format.name() + " gerado com " + s3Out.getBytesWritten() + " bytes.");
+
+            // A lista mudou entre as duas leituras: o arquivo vai para a chave do que foi escrito, para que nenhuma
+            // chave aponte para um conteúdo diferente do seu hash
+            String writtenKey = exportKey(pk, since, hashed.finish(), extension);
+            if (!writtenKey.equals(s3Key)) {
+                logger.log("Lista alterada durante a exportação; movendo o arquivo para s3://" + s3BucketName + "/" + writtenKey);
+                copyObject(s3Key, writtenKey);
+                deleteObject(s3Key);
+                s3Key = writtenKey;
+            }
+            logger.log("Arquivo salvo no S3 em s3://" + s3BucketName + "/" + s3Key);
+            attachment = attachmentOut.toByteArray();
+        }
+
+        // Acima do limite o arquivo não vai anexado: o e-mail leva um link de download com validade
+        String downloadUrl = attachment == null ? presignDownload(s3Key) : null;
+        String attachmentType = compression.getAttachmentType() != null ? compression.getAttachmentType() : format.contentType();
+        sendEmailWithAttachment(userEmail, attachment, downloadUrl, "relatorio_tarefas" + extension, attachmentType, s3Key, logger);
+        logger.log("E-mail enviado com sucesso para " + userEmail);
+
+        // Só avança a marca d'água depois que o usuário recebeu o arquivo
+        if (delta) {
+            repository.saveExportWatermark(userEmail, pk, exported.watermark(watermarkCeiling));
         }
-        return null;
     }
 
-    private void uploadToS3(byte[] data, String s3Key, LambdaLogger logger) {
-        try {
-            PutObjectRequest putRequest = PutObjectRequest.builder()
-                    .bucket(s3BucketName)
-                    .key(s3Key)
-                    .contentType("text/csv")
-                    .build();
+    /**
+     * Exporta todas as listas de um usuário (pk USER#...), cada uma seguida dos seus itens.
+     * Os itens de várias listas são consultados em paralelo enquanto o arquivo é escrito (ver AccountReader).
+     * No arquivo único, a coluna listId de cada linha identifica a lista (o cabeçalho vem antes dos itens);
+     * no zip, cada lista vira um arquivo. Não há impressão digital nem reaproveitamento do S3 aqui:
+     * isso exigiria ler a conta inteira duas vezes.
+     */
+    private void processAccountExport(String pk, String userEmail, ExportFormat format, Compression compression, boolean zip, LambdaLogger logger) throws Exception {
+        String exportStartedAt = Timestamps.now();
+        String extension = zip ? ".zip" : format.extension() + compression.getExtension();
+        String s3Key = "exports/" + pk.replace("#", "-") + "/account-" + exportStartedAt.replace(":", "") + extension;
+
+        long rows;
+        byte[] attachment;
+        try (AccountReader lists = new AccountReader(repository, pk, accountParallelism)) {
+            if (!lists.hasNext()) {
+                logger.log("Nenhuma lista encontrada para o pk: " + pk + ". E-mail não será enviado.");
+                return;
+            }
+
+            S3MultipartOutputStream s3Out = zip
+                    ? new S3MultipartOutputStream(s3Client, s3BucketName, s3Key, "application/zip")
+                    : new S3MultipartOutputStream(s3Client, s3BucketName, s3Key, format.contentType(), compression.getContentEncoding());
+            CappedCopyOutputStream attachmentOut = new CappedCopyOutputStream(s3Out, attachmentMaxBytes);
 
-            s3Client.putObject(putRequest, RequestBody.fromBytes(data));
+            if (zip) {
+                // O zip já é comprimido; a compressão pedida não se aplica a ele
+                ZipOutputStream zipOut = new ZipOutputStream(attachmentOut);
+                rows = writeToS3(() -> writeZip(lists, format, zipOut), zipOut, s3Out, logger);
+            } else {
+                OutputStream out = compression.wrap(attachmentOut);
+                rows = writeToS3(() -> format.writeAccount(flatten(lists), out), out, s3Out, logger);
+            }
+            logger.log("Conta " + pk + " exportada com " + rows + " linhas e " + s3Out.getBytesWritten() + " bytes em s3://" + s3BucketName + "/" + s3Key);
+            attachment = attachmentOut.toByteArray();
+        }
+
+        String downloadUrl = attachment == null ? presignDownload(s3Key) : null;
+        String attachmentType = zip ? "application/zip"
+                : compression.getAttachmentType() != null ? compression.getAttachmentType() : format.contentType();
+        sendEmailWithAttachment(userEmail, attachment, downloadUrl, "relatorio_conta" + extension, attachmentType, s3Key, logger);
+        logger.log("E-mail enviado com sucesso para " + userEmail);
+    }
+
+    // Arquivo único: cada lista seguida dos seus itens, na ordem das listas, todas as linhas com o id da lista
+    // (o sk do cabeçalho, que é o pk dos itens)
+    private static Iterator<AccountRow> flatten(AccountReader lists) {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(lists, Spliterator.ORDERED), false)
+                .flatMap(list -> {
+                    String listId = list.getList().getSk();
+                    return Stream.concat(Stream.of(list.getList()), list.getItems().stream())
+                            .map(task -> new AccountRow(listId, task));
+                })
+                .iterator();
+    }
+
+    // Um arquivo por lista, com o cabeçalho da lista na primeira linha
+    private static long writeZip(AccountReader lists, ExportFormat format, ZipOutputStream zipOut) throws IOException {
+        long rows = 0;
+        while (lists.hasNext()) {
+            ListOverview list = lists.next();
+            zipOut.putNextEntry(new ZipEntry(list.getList().getSk().replace("#", "-") + format.extension()));
+            rows += format.write(Stream.concat(Stream.of(list.getList()), list.getItems().stream()).iterator(), zipOut);
+            zipOut.closeEntry();
+        }
+        return rows;
+    }
+
+    private static String exportKey(String pk, String since, ExportFingerprint fingerprint, String extension) {
+        return "exports/" + pk.replace("#", "-") + "/" + (since != null ? "delta-" : "") + fingerprint.getHash() + extension;
+    }
+
+    // Tamanho do objeto já exportado com essa chave, ou null se ele ainda não existir
+    private Long existingObjectSize(String s3Key) {
+        try {
+            return s3Client.headObject(HeadObjectRequest.builder().bucket(s3BucketName).key(s3Key).build()).contentLength();
+        } catch (NoSuchKeyException e) {
+            return null;
         } catch (S3Exception e) {
-            logger.log("Erro no upload para o S3: " + e.getMessage());
+            if (e.statusCode() == 404) {
+                return null;
+            }
             throw e;
         }
     }
 
-    private void sendEmailWithAttachment(String toEmail, byte[] csvBytes, String s3Key, LambdaLogger logger) throws MessagingException, IOException {
+    private String presignDownload(String s3Key) {
+        GetObjectPresignRequest presignRequest = GetObjectPresignRequest.builder()
+                .signatureDuration(linkTtl)
+                .getObjectRequest(GetObjectRequest.builder().bucket(s3BucketName).key(s3Key).build())
+                .build();
+        return presigner.presignGetObject(presignRequest).url().toString();
+    }
 
-        Session session = Session.getDefaultInstance(new Properties());
-        MimeMessage mimeMessage = new MimeMessage(session);
+    private byte[] downloadFromS3(String s3Key) {
+        return s3Client.getObjectAsBytes(GetObjectRequest.builder().bucket(s3BucketName).key(s3Key).build()).asByteArrayUnsafe();
+    }
 
-        mimeMessage.setFrom(new InternetAddress(sesFromEmail));
-        mimeMessage.addRecipient(Message.RecipientType.TO, new InternetAddress(toEmail));
-        mimeMessage.setSubject("Seu Relatório de Tarefas está Pronto", "UTF-8");
+    // Cópia dentro do bucket, sem passar os bytes pela Lambda (o CopyObject aceita objetos de até 5 GB)
+    private void copyObject(String sourceKey, String destinationKey) {
+        s3Client.copyObject(CopyObjectRequest.builder()
+                .sourceBucket(s3BucketName).sourceKey(sourceKey)
+                .destinationBucket(s3BucketName).destinationKey(destinationKey)
+                .build());
+    }
 
-        MimeBodyPart textPart = new MimeBodyPart();
-        textPart.setContent(
-                "Olá,\n\nSeu relatório de tarefas solicitado está em anexo.\n\n" +
-                        "Uma cópia também foi salva em seu bucket S3 com a chave: " + s3Key + "\n\n" +".",
-                "text/plain; charset=UTF-8"
-        );
+    private void deleteObject(String s3Key) {
+        s3Client.deleteObject(DeleteObjectRequest.builder().bucket(s3BucketName).key(s3Key).build());
+    }
 
-//        Cria o anexo do CSV
-        MimeBodyPart csvAttachmentPart = new MimeBodyPart();
+    // Gera o arquivo direto no upload do S3; se algo falhar no meio, o multipart upload é abortado
+    private long writeToS3(ExportWriter writer, OutputStream out, S3MultipartOutputStream s3Out, LambdaLogger logger) throws IOException {
+        try {
+            long rows = writer.write();
+            out.close();
+            return rows;
+        } catch (S3Exception e) {
+            logger.log("Erro no upload para o S3: " + e.getMessage());
+            s3Out.abort();
+            throw e;
+        } catch (IOException | RuntimeException e) {
+            s3Out.abort();
+            throw e;
+        }
+    }
+
+    private void sendEmailWithAttachment(String toEmail, byte[] reportBytes, String downloadUrl, String attachmentName, String attachmentType, String s3Key, LambdaLogger logger) throws MessagingException {
 
-        ByteArrayDataSource dataSource = new ByteArrayDataSource(csvBytes, "text/csv");
-        csvAttachmentPart.setDataHandler(new DataHandler(dataSource));
-        csvAttachmentPart.setFileName("relatorio_tarefas.csv");
+        // Relatórios maiores que o limite do anexo são entregues por um link temporário
+        String text = reportBytes != null
+                ? "Olá,\n\nSeu relatório de tarefas solicitado está em anexo.\n\n" +
+                        "Uma cópia também foi salva em seu bucket S3 com a chave: " + s3Key + "\n\n" +"."
+                : "Olá,\n\nSeu relatório de tarefas está disponível para download no link abaixo, válido por " +
+                        linkTtl.toMinutes() + " minutos:\n\n" + downloadUrl + "\n\n" +
+                        "Ele também foi salvo em seu bucket S3 com a chave: " + s3Key + "\n\n" +".";
 
-        // Monta o e-mail com texto e anexo
-        Multipart multipart = new MimeMultipart();
-        multipart.addBodyPart(textPart);
-        multipart.addBodyPart(csvAttachmentPart);
-        mimeMessage.setContent(multipart);
+        RawEmailBuilder email = RawEmailBuilder.message(sesFromEmail, toEmail, RawEmailBuilder.REPORT_SUBJECT).text(text);
+        if (reportBytes != null) {
+            email.attachment(attachmentName, attachmentType, reportBytes);
+        }
 
-        // Converte a mensagem para o formato Raw e envia via SES
-        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-        mimeMessage.writeTo(outputStream);
-        SdkBytes rawMessageBytes = SdkBytes.fromByteArray(outputStream.toByteArray());
-        RawMessage rawMessage = RawMessage.builder().data(rawMessageBytes).build();
+        // A mensagem é montada em um único buffer, repassado ao SES sem cópias
+        RawMessage rawMessage = RawMessage.builder().data(email.build()).build();
 
         SendRawEmailRequest rawEmailRequest = SendRawEmailRequest.builder().rawMessage(rawMessage).build();
         try {
@@ -179,4 +465,67 @@ public class LambdaGetFunction implements RequestHandler<SQSEvent, Void> {
             throw ex;
         }
     }
-}
\ No newline at end of file
+
+    // Escreve o conteúdo do arquivo no stream já aberto e devolve a quantidade de linhas
+    private interface ExportWriter {
+        long write() throws IOException;
+    }
+
+    /**
+     * Itens lidos para uma exportação. Na consulta incremental (GSI por updatedAt) não repete sk: um item alterado
+     * durante a consulta pode aparecer de novo mais adiante, já com o updatedAt novo; a consulta pela tabela já
+     * devolve cada sk uma única vez. Guarda o maior updatedAt entregue e quantos itens mudaram depois da marca
+     * d'água anterior (os que estão exatamente nela já foram exportados).
+     */
+    private static final class DeltaItems implements Iterator<Task> {
+        private final Iterator<Task> items;
+        private final String since;
+        private final Set<String> seen;
+        private Task next;
+        private String maxUpdatedAt;
+        private long changedCount;
+
+        DeltaItems(Iterator<Task> items, String since) {
+            this.items = items;
+            this.since = since;
+            this.seen = since != null ? new HashSet<>() : null;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (next == null && items.hasNext()) {
+                Task candidate = items.next();
+                if (seen == null || seen.add(candidate.getSk())) {
+                    next = candidate;
+                }
+            }
+            return next != null;
+        }
+
+        @Override
+        public Task next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Task current = next;
+            next = null;
+            String updatedAt = current.getUpdatedAt();
+            if (since == null || updatedAt == null || updatedAt.compareTo(since) > 0) {
+                changedCount++;
+            }
+            if (updatedAt != null && (maxUpdatedAt == null || updatedAt.compareTo(maxUpdatedAt) > 0)) {
+                maxUpdatedAt = updatedAt;
+            }
+            return current;
+        }
+
+        long getChangedCount() {
+            return changedCount;
+        }
+
+        // O maior updatedAt exportado, limitado pelo teto; a consulta seguinte é inclusiva, então nada se perde na borda
+        String watermark(String ceiling) {
+            return maxUpdatedAt != null && maxUpdatedAt.compareTo(ceiling) < 0 ? maxUpdatedAt : ceiling;
+        }
+    }
+}
@@ -7,11 +7,16 @@ import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
 import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import software.amazon.awssdk.core.exception.SdkException;
 import software.amazon.awssdk.services.sqs.SqsClient;
 import software.amazon.awssdk.services.sqs.model.SendMessageRequest;
-import software.amazon.awssdk.services.sqs.model.SqsException;
 import util.ApiResponseBuilder;
+import util.AwsClientRegistry;
+import util.Compression;
+import util.Priming;
+import util.format.ExportFormat;
 
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 public class LambdaPostFunction implements RequestHandler<APIGatewayProxyRequestEvent, APIGatewayProxyResponseEvent> {
@@ -21,11 +26,12 @@ public class LambdaPostFunction implements RequestHandler<APIGatewayProxyRequest
     private final Gson gson = new GsonBuilder().disableHtmlEscaping().create();
 
     public LambdaPostFunction() {
-        this.sqsClient = SqsClient.builder().build();
+        this.sqsClient = AwsClientRegistry.sqs();
         this.sqsQueueUrl = System.getenv("SQS_QUEUE_URL");
         if (this.sqsQueueUrl == null) {
             System.err.println("Variável de ambiente SQS_QUEUE_URL não definida.");
         }
+        Priming.register(gson);
     }
 
     public LambdaPostFunction(SqsClient sqsClient, String sqsQueueUrl) {
@@ -54,12 +60,60 @@ public class LambdaPostFunction implements RequestHandler<APIGatewayProxyRequest
                 return ApiResponseBuilder.createErrorResponse(401, "Não autorizado ou e-mail não encontrado no token.");
             }
 
+            // Compressão opcional do arquivo exportado (gzip ou zstd)
+            String compressionParam = queryParams.get("compression");
+            Compression compression;
+            try {
+                compression = Compression.fromParam(compressionParam);
+            } catch (IllegalArgumentException e) {
+                return ApiResponseBuilder.createErrorResponse(400, "Query parameter 'compression' deve ser 'gzip' ou 'zstd'");
+            }
+
+            // Formato do arquivo exportado (csv, ndjson ou avro)
+            ExportFormat format;
+            try {
+                format = ExportFormat.fromParam(queryParams.get("format"));
+            } catch (IllegalArgumentException e) {
+                return ApiResponseBuilder.createErrorResponse(400, "Query parameter 'format' deve ser 'csv', 'ndjson' ou 'avro'");
+            }
+
+            // Modo da exportação: completa (padrão), incremental (só o que mudou desde a última) ou a conta inteira
+            String mode = queryParams.get("mode");
+            if (mode != null && !mode.equals("full") && !mode.equals("delta") && !mode.equals("account")) {
+                return ApiResponseBuilder.createErrorResponse(400, "Query parameter 'mode' deve ser 'full', 'delta' ou 'account'");
+            }
+
+            // Na exportação da conta o pk é o do usuário, e o arquivo pode ser único ou um zip com um arquivo por lista
+            String layout = queryParams.get("layout");
+            if ("account".equals(mode)) {
+                if (!pk.startsWith("USER#")) {
+                    return ApiResponseBuilder.createErrorResponse(400, "No modo 'account' o 'pk' deve ser o do usuário (USER#...)");
+                }
+                if (layout != null && !layout.equals("combined") && !layout.equals("zip")) {
+                    return ApiResponseBuilder.createErrorResponse(400, "Query parameter 'layout' deve ser 'combined' ou 'zip'");
+                }
+                if ("zip".equals(layout) && compression != Compression.NONE) {
+                    return ApiResponseBuilder.createErrorResponse(400, "Query parameter 'compression' não se aplica ao layout 'zip'");
+                }
+            } else if (layout != null) {
+                return ApiResponseBuilder.createErrorResponse(400, "Query parameter 'layout' só se aplica ao modo 'account'");
+            }
+
             logger.log("Solicitação recebida para pk: " + pk + ", e-mail: " + userEmail);
 
-            var sqsMessageBody = Map.of(
-                    "pk", pk,
-                    "email", userEmail
-            );
+            Map<String, String> sqsMessageBody = new LinkedHashMap<>();
+            sqsMessageBody.put("pk", pk);
+            sqsMessageBody.put("email", userEmail);
+            sqsMessageBody.put("format", format.name());
+            if (mode != null) {
+                sqsMessageBody.put("mode", mode);
+            }
+            if (layout != null) {
+                sqsMessageBody.put("layout", layout);
+            }
+            if (compression != Compression.NONE) {
+                sqsMessageBody.put("compression", compression.getContentEncoding());
+            }
             String messageBodyJson = gson.toJson(sqsMessageBody);
 
             // Cria mensagem para fila
@@ -68,13 +122,14 @@ public class LambdaPostFunction implements RequestHandler<APIGatewayProxyRequest
                     .messageBody(messageBodyJson)
                     .build();
 
-            // Envia a mensagem para fila
+            // Envia a mensagem para fila; o SendMessage só retorna depois que o SQS gravou a mensagem
             sqsClient.sendMessage(sendMessageRequest);
             logger.log("Mensagem enviada com sucesso para o SQS. Corpo: " + messageBodyJson);
 
-            return ApiResponseBuilder.createSuccessResponse(200, Map.of("message", "Sua solicitação foi processada com sucesso."));
+            return ApiResponseBuilder.createSuccessResponse(202, Map.of("message", "Sua solicitação foi processada com sucesso."));
 
-        } catch (SqsException e) {
+        } catch (SdkException e) {
+            // Recusa do SQS ou falha de rede: a mensagem não foi gravada
             logger.log("Erro ao enviar mensagem para o SQS: " + e.getMessage());
             return ApiResponseBuilder.createErrorResponse(500, "Erro ao enfileirar solicitação.");
         } catch (Exception e) {
@@ -83,6 +138,7 @@ public class LambdaPostFunction implements RequestHandler<APIGatewayProxyRequest
             return ApiResponseBuilder.createErrorResponse(500, "Erro interno do servidor.");
         }
     }
+
 //    Extrai o e-mail do usuário do contexto do autorizador do API Gateway (configurado com Cognito)
     @SuppressWarnings("unchecked")
     private String getUserEmailFromAuthContext(APIGatewayProxyRequestEvent requestEvent, LambdaLogger logger) {
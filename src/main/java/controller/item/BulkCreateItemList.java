@@ -0,0 +1,153 @@
+package controller.item;
+
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.RequestHandler;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
+import com.google.gson.Gson;
+import com.google.gson.JsonSyntaxException;
+import model.Task;
+import model.Timestamps;
+import repository.BatchOutcome;
+import repository.CachingTaskRepository;
+import repository.TaskRepository;
+import util.ApiResponseBuilder;
+import util.AwsClientRegistry;
+import util.Priming;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Cria vários itens em uma lista com uma única requisição.
+ * A lista pai é validada uma vez e os itens são gravados em transações de até 99 itens, junto com os contadores
+ * do cabeçalho da lista; a resposta traz o status de cada item.
+ */
+public class BulkCreateItemList implements RequestHandler<APIGatewayProxyRequestEvent, APIGatewayProxyResponseEvent> {
+
+    static final int MAX_ITEMS = 500;
+
+    private final TaskRepository repository;
+    private final Gson json;
+
+    public BulkCreateItemList(){
+        this.json = new Gson();
+        this.repository = AwsClientRegistry.taskRepository();
+        Priming.register(json);
+    }
+
+    // Para testes
+    public BulkCreateItemList(TaskRepository repository, Gson json) {
+        this.repository = repository;
+        this.json = json;
+    }
+
+    @Override
+    public APIGatewayProxyResponseEvent handleRequest(APIGatewayProxyRequestEvent request, Context context) {
+        var log = context.getLogger();
+        log.log("Nova requisição de criação em lote recebida");
+
+        try {
+            String body = request.getBody();
+
+            if (body == null || body.isBlank()){
+                log.log("Corpo da requisição inválido");
+                return ApiResponseBuilder.createErrorResponse(400, " o corpo da requisição não pode ser vazio.");
+            }
+
+            BulkRequest bulk = json.fromJson(body, BulkRequest.class);
+
+            String pkList = bulk.pk;
+            if (pkList == null || pkList.isBlank()){
+                return ApiResponseBuilder.createErrorResponse(400, "O campo 'pk' no corpo da requisição deve ser preenchido.");
+            }
+
+            String skList = bulk.sk;
+            if (skList == null || skList.isBlank()){
+                return ApiResponseBuilder.createErrorResponse(400, "O campo 'sk' no corpo da requisição deve ser preenchido.");
+            }
+
+            List<Task> items = bulk.items;
+            if (items == null || items.isEmpty()){
+                return ApiResponseBuilder.createErrorResponse(400, "O campo 'items' deve conter pelo menos um item.");
+            }
+            if (items.size() > MAX_ITEMS){
+                return ApiResponseBuilder.createErrorResponse(400, "O campo 'items' aceita no máximo " + MAX_ITEMS + " itens.");
+            }
+
+            // A lista pai é validada uma única vez para o lote inteiro
+            boolean listExists = repository.skListExists(pkList, skList);
+            if (repository instanceof CachingTaskRepository cache) {
+                log.log(cache.stats());
+            }
+            if (!listExists){
+                return ApiResponseBuilder.createErrorResponse(400, "Não existe nenhuma lista com esse sk");
+            }
+
+            String now = Timestamps.now();
+            List<Task> toCreate = new ArrayList<>(items.size());
+            for (Task source : items) {
+                Task item = new Task(skList, UUID.randomUUID().toString(), source != null ? source.getDescription() : null);
+                item.setVersion(1L);
+                item.setUpdatedAt(now);
+                item.setDone(source != null && Boolean.TRUE.equals(source.getDone()) ? Boolean.TRUE : null);
+                item.setOwnerPk(pkList);
+                toCreate.add(item);
+            }
+
+            BatchOutcome<Task> outcome = repository.createItemsInList(pkList, skList, toCreate);
+
+            Set<String> failedSks = new HashSet<>();
+            outcome.getFailed().forEach(item -> failedSks.add(item.getSk()));
+
+            List<ItemResult> results = new ArrayList<>(toCreate.size());
+            for (int i = 0; i < toCreate.size(); i++) {
+                Task item = toCreate.get(i);
+                boolean failed = failedSks.contains(item.getSk());
+                results.add(new ItemResult(i, item.getSk(), item.getDescription(), failed ? "FAILED" : "CREATED"));
+            }
+
+            log.log("Itens criados: " + outcome.getSucceeded().size() + ", falhas: " + outcome.getFailed().size());
+
+            Map<String, Object> response = new LinkedHashMap<>();
+            response.put("created", outcome.getSucceeded().size());
+            response.put("failed", outcome.getFailed().size());
+            response.put("items", results);
+
+            // 207 (Multi-Status) quando parte dos itens não pôde ser gravada
+            return ApiResponseBuilder.createSuccessResponse(failedSks.isEmpty() ? 201 : 207, response);
+
+        } catch (JsonSyntaxException ex) {
+            log.log("Erro de sintaxe JSON: " + ex.getMessage());
+            return ApiResponseBuilder.createErrorResponse(400, "JSON inválido");
+        } catch (Exception ex) {
+            log.log("Erro inesperado: " + ex.getMessage());
+            return ApiResponseBuilder.createErrorResponse(500, "Erro interno do servidor");
+        }
+    }
+
+    private static class BulkRequest {
+        String pk;
+        String sk;
+        List<Task> items;
+    }
+
+    private static class ItemResult {
+        final int index;
+        final String sk;
+        final String description;
+        final String status;
+
+        ItemResult(int index, String sk, String description, String status) {
+            this.index = index;
+            this.sk = sk;
+            this.description = description;
+            this.status = status;
+        }
+    }
+}
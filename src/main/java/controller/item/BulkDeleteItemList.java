@@ -0,0 +1,121 @@
+package controller.item;
+
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.LambdaLogger;
+import com.amazonaws.services.lambda.runtime.RequestHandler;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
+import com.google.gson.Gson;
+import com.google.gson.JsonSyntaxException;
+import repository.BatchOutcome;
+import repository.TaskRepository;
+import software.amazon.awssdk.enhanced.dynamodb.Key;
+import software.amazon.awssdk.services.dynamodb.model.DynamoDbException;
+import util.ApiResponseBuilder;
+import util.AwsClientRegistry;
+import util.Priming;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Remove vários itens de uma lista com uma única requisição.
+ * Os itens são informados pelos seus sk ('sks') ou por um filtro sobre a descrição ('descriptionContains'),
+ * e removidos em transações junto com os contadores do cabeçalho da lista; a resposta traz a contagem de removidos e de falhas.
+ */
+public class BulkDeleteItemList implements RequestHandler<APIGatewayProxyRequestEvent, APIGatewayProxyResponseEvent> {
+
+    static final int MAX_KEYS = 1000;
+
+    private final TaskRepository repository;
+    private final Gson json;
+
+    public BulkDeleteItemList(){
+        this.json = new Gson();
+        this.repository = AwsClientRegistry.taskRepository();
+        Priming.register(json);
+    }
+
+    // Para testes
+    public BulkDeleteItemList(TaskRepository repository, Gson json) {
+        this.repository = repository;
+        this.json = json;
+    }
+
+    @Override
+    public APIGatewayProxyResponseEvent handleRequest(APIGatewayProxyRequestEvent requestEvent, Context context) {
+        LambdaLogger logger = context.getLogger();
+        logger.log("Iniciando requisição para deletar itens em lote.");
+
+        try{
+            String body = requestEvent.getBody();
+            if (body == null || body.isBlank()){
+                return ApiResponseBuilder.createErrorResponse(400, " o corpo da requisição não pode ser vazio.");
+            }
+
+            BulkDeleteRequest bulk = json.fromJson(body, BulkDeleteRequest.class);
+
+            // Só itens de lista (pk LIST#...); o cabeçalho da lista não é removido por aqui
+            String pk = bulk.pk;
+            if (pk == null || pk.isBlank() || !pk.startsWith("LIST#")){
+                return ApiResponseBuilder.createErrorResponse(400, "Preencha o 'pk' corretamente");
+            }
+
+            boolean hasSks = bulk.sks != null && !bulk.sks.isEmpty();
+            boolean hasFilter = bulk.descriptionContains != null && !bulk.descriptionContains.isBlank();
+            if (hasSks == hasFilter){
+                return ApiResponseBuilder.createErrorResponse(400, "Informe 'sks' ou 'descriptionContains', mas não os dois");
+            }
+
+            List<String> sks;
+            if (hasSks) {
+                Set<String> unique = new LinkedHashSet<>();
+                for (String sk : bulk.sks) {
+                    if (sk == null || sk.isBlank()){
+                        return ApiResponseBuilder.createErrorResponse(400, "Preencha os valores de 'sks' corretamente");
+                    }
+                    unique.add(sk);
+                }
+                sks = new ArrayList<>(unique);
+            } else {
+                sks = repository.findSksByDescription(pk, bulk.descriptionContains);
+            }
+
+            if (sks.size() > MAX_KEYS){
+                return ApiResponseBuilder.createErrorResponse(400, "É possível deletar no máximo " + MAX_KEYS + " itens por requisição");
+            }
+
+            BatchOutcome<Key> outcome = repository.deleteItemsInList(pk, sks);
+
+            List<String> failedSks = new ArrayList<>();
+            outcome.getFailed().forEach(key -> failedSks.add(key.sortKeyValue().map(v -> v.s()).orElse(null)));
+
+            logger.log("Itens deletados: " + outcome.getSucceeded().size() + ", falhas: " + failedSks.size());
+
+            Map<String, Object> response = new LinkedHashMap<>();
+            response.put("deleted", outcome.getSucceeded().size());
+            response.put("failed", failedSks.size());
+            response.put("failedSks", failedSks);
+
+            // 207 (Multi-Status) quando parte dos itens não pôde ser removida
+            return ApiResponseBuilder.createSuccessResponse(failedSks.isEmpty() ? 200 : 207, response);
+
+        }catch (JsonSyntaxException e) {
+            return ApiResponseBuilder.createErrorResponse(400, "JSON inválido");
+        }catch (DynamoDbException e) {
+            return ApiResponseBuilder.createErrorResponse(500, "Erro ao acessar o DynamoDB: " + e.getMessage());
+        }catch (Exception e) {
+            return ApiResponseBuilder.createErrorResponse(500, "Erro inesperado. " + e.getMessage());
+        }
+    }
+
+    private static class BulkDeleteRequest {
+        String pk;
+        List<String> sks;
+        String descriptionContains;
+    }
+}
@@ -7,34 +7,28 @@ import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent
 import com.google.gson.Gson;
 import com.google.gson.JsonSyntaxException;
 import model.Task;
+import model.Timestamps;
+import repository.CachingTaskRepository;
 import repository.TaskRepository;
-import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
-import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
-import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
-import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
 import util.ApiResponseBuilder;
+import util.AwsClientRegistry;
+import util.Priming;
 
 import java.util.UUID;
 
 public class CreateItemList implements RequestHandler<APIGatewayProxyRequestEvent, APIGatewayProxyResponseEvent> {
 
-    private final DynamoDbTable<Task> table;
     private final TaskRepository repository;
     private final Gson json;
 
     public CreateItemList(){
-        DynamoDbClient client = DynamoDbClient.builder().build();
-        DynamoDbEnhancedClient enhanced = DynamoDbEnhancedClient.builder().dynamoDbClient(client).build();
-
-        String tableName = System.getenv("TASKS_TABLE");
-        this.table = enhanced.table(tableName, TableSchema.fromBean(Task.class));
         this.json = new Gson();
-        this.repository = new TaskRepository(table);
+        this.repository = AwsClientRegistry.taskRepository();
+        Priming.register(json);
     }
 
     // Para testes
-    public CreateItemList(DynamoDbTable<Task> table, TaskRepository repository, Gson json) {
-        this.table = table;
+    public CreateItemList(TaskRepository repository, Gson json) {
         this.repository = repository;
         this.json = json;
     }
@@ -64,19 +58,26 @@ public class CreateItemList implements RequestHandler<APIGatewayProxyRequestEven
                 return ApiResponseBuilder.createErrorResponse(400, "O campo 'sk' no corpo da requisição deve ser preenchido.");
             }
 
-            boolean skListExists = repository.skListExists(pkList, skList);
-            if (!skListExists){
-                return ApiResponseBuilder.createErrorResponse(400, "Não existe nenhuma lista com esse sk");
-            }
-
             item.setPk(skList);
             item.setSk(UUID.randomUUID().toString());
-
-            table.putItem(item);
+            item.setVersion(1L);
+            item.setUpdatedAt(Timestamps.now());
+            // Contadores só existem no cabeçalho da lista
+            item.setItemCount(null);
+            item.setDoneCount(null);
+
+            // Contadores da lista pai e gravação do item na mesma transação
+            boolean created = repository.createItemInList(pkList, skList, item);
+            if (repository instanceof CachingTaskRepository cache) {
+                log.log(cache.stats());
+            }
+            if (!created){
+                return ApiResponseBuilder.createErrorResponse(400, "Não existe nenhuma lista com esse sk");
+            }
 
             log.log("Item inserido na lista com sucesso!");
 
-            return ApiResponseBuilder.createSuccessResponse(200, json.toJson(item));
+            return ApiResponseBuilder.createSuccessResponse(200, item);
 
         } catch (JsonSyntaxException ex) {
             log.log("Erro de sintaxe JSON: " + ex.getMessage());
@@ -5,35 +5,24 @@ import com.amazonaws.services.lambda.runtime.LambdaLogger;
 import com.amazonaws.services.lambda.runtime.RequestHandler;
 import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
 import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
-import model.Task;
 import repository.TaskRepository;
-import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
-import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
-import software.amazon.awssdk.enhanced.dynamodb.Key;
-import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
-import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
 import software.amazon.awssdk.services.dynamodb.model.DynamoDbException;
 import util.ApiResponseBuilder;
+import util.AwsClientRegistry;
+import util.Priming;
 
 import java.util.Map;
 
 public class DeleteItemList implements RequestHandler<APIGatewayProxyRequestEvent, APIGatewayProxyResponseEvent> {
 
-    private final DynamoDbTable<Task> table;
     private final TaskRepository repository;
 
     public DeleteItemList (){
-        DynamoDbClient client = DynamoDbClient.builder().build();
-        DynamoDbEnhancedClient enhancedClient = DynamoDbEnhancedClient.builder().dynamoDbClient(client).build();
-
-        String tableName = System.getenv("TASKS_TABLE");
-
-        this.table = enhancedClient.table(tableName, TableSchema.fromBean(Task.class));
-        this.repository = new TaskRepository(table);
+        this.repository = AwsClientRegistry.taskRepository();
+        Priming.register();
     }
 
-    public DeleteItemList(DynamoDbTable<Task> table, TaskRepository repository) {
-        this.table = table;
+    public DeleteItemList(TaskRepository repository) {
         this.repository = repository;
     }
 
@@ -59,8 +48,7 @@ public class DeleteItemList implements RequestHandler<APIGatewayProxyRequestEven
                 return ApiResponseBuilder.createErrorResponse(400, "Preencha o 'sk' corretamente");
             }
 
-            Key keyTask = Key.builder().partitionValue(pk).sortValue(sk).build();
-            table.deleteItem(keyTask);
+            repository.deleteTask(pk, sk);
 
             logger.log("Item deletado com sucesso.");
 
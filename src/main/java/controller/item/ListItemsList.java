@@ -4,30 +4,26 @@ import com.amazonaws.services.lambda.runtime.Context;
 import com.amazonaws.services.lambda.runtime.RequestHandler;
 import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
 import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
-import com.google.gson.Gson;
 import com.google.gson.JsonSyntaxException;
 import model.Task;
 import repository.TaskRepository;
-import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
-import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
-import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
-import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.enhanced.dynamodb.model.Page;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
 import util.ApiResponseBuilder;
+import util.AwsClientRegistry;
+import util.Pagination;
+import util.Priming;
+import util.Projection;
 
 import java.util.List;
+import java.util.Map;
 
 public class ListItemsList implements RequestHandler<APIGatewayProxyRequestEvent, APIGatewayProxyResponseEvent> {
-    private final Gson json = new Gson();
     private final TaskRepository repository;
 
     public ListItemsList(){
-        DynamoDbClient client = DynamoDbClient.builder().build();
-        DynamoDbEnhancedClient enhancedClient = DynamoDbEnhancedClient.builder().dynamoDbClient(client).build();
-
-        String tableName = System.getenv("TASKS_TABLE");
-        DynamoDbTable<Task> table = enhancedClient.table(tableName, TableSchema.fromBean(Task.class));
-
-        this.repository = new TaskRepository(table);
+        this.repository = AwsClientRegistry.taskRepository();
+        Priming.register();
     }
 
     public ListItemsList(TaskRepository repository) {
@@ -40,10 +36,11 @@ public class ListItemsList implements RequestHandler<APIGatewayProxyRequestEvent
         log.log("Requisição recebida para listar tarefas: " + requestEvent.getBody());
 
         try {
+            Map<String, String> queryParams = requestEvent.getQueryStringParameters();
             String pkList = null;
 
-            if (requestEvent.getQueryStringParameters() != null){
-                pkList = requestEvent.getQueryStringParameters().get("pk");
+            if (queryParams != null){
+                pkList = queryParams.get("pk");
             }
 
             if (pkList == null || pkList.isBlank() || !pkList.contains("#")){
@@ -51,9 +48,17 @@ public class ListItemsList implements RequestHandler<APIGatewayProxyRequestEvent
                 return ApiResponseBuilder.createErrorResponse(400, "A 'pk' da lista não pode ser nula.");
             }
 
-            List<Task> itensListByPk = repository.getTasksByPk(pkList);
-            return ApiResponseBuilder.createSuccessResponse(200, itensListByPk);
-        }catch (JsonSyntaxException ex) {
+            int limit = Pagination.parseLimit(queryParams.get("limit"));
+            Map<String, AttributeValue> startKey = Pagination.decodeToken(queryParams.get("nextToken"), pkList);
+            List<String> fields = Projection.parseFields(queryParams.get("fields"));
+
+            Page<Task> page = repository.getTasksPageByPk(pkList, limit, startKey, fields);
+            String nextToken = Pagination.encodeToken(page.lastEvaluatedKey());
+
+            return ApiResponseBuilder.createPagedResponse(200, page.items(), nextToken, limit);
+        } catch (IllegalArgumentException ex) {
+            return ApiResponseBuilder.createErrorResponse(400, ex.getMessage());
+        } catch (JsonSyntaxException ex) {
             log.log("Falha ao processar JSON: " + ex.getMessage());
             return ApiResponseBuilder.createErrorResponse(400, "Requisição inválida");
         } catch (Exception ex) {
@@ -8,12 +8,12 @@ import com.google.gson.Gson;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonSyntaxException;
 import model.Task;
-import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
-import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
-import software.amazon.awssdk.enhanced.dynamodb.Key;
-import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
-import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import repository.TaskRepository;
+import repository.VersionConflictException;
 import util.ApiResponseBuilder;
+import util.AwsClientRegistry;
+import util.JsonBody;
+import util.Priming;
 
 import java.net.URLDecoder;
 import java.nio.charset.StandardCharsets;
@@ -22,19 +22,15 @@ import java.util.Map;
 public class UpdateItemList implements RequestHandler<APIGatewayProxyRequestEvent, APIGatewayProxyResponseEvent> {
 
     private final Gson gson = new Gson();
-    private final DynamoDbTable<Task> table;
+    private final TaskRepository repository;
 
     public UpdateItemList(){
-        DynamoDbClient client = DynamoDbClient.builder().build();
-        DynamoDbEnhancedClient enhancedClient =  DynamoDbEnhancedClient.builder().dynamoDbClient(client).build();
-
-        String tableName = System.getenv("TASKS_TABLE");
-        this.table = enhancedClient.table(tableName, TableSchema.fromBean(Task.class));
-
+        this.repository = AwsClientRegistry.taskRepository();
+        Priming.register(gson);
     }
 
-    public UpdateItemList(DynamoDbTable<Task> table) {
-        this.table = table;
+    public UpdateItemList(TaskRepository repository) {
+        this.repository = repository;
     }
 
     @Override
@@ -66,25 +62,32 @@ public class UpdateItemList implements RequestHandler<APIGatewayProxyRequestEven
 
             JsonObject body = gson.fromJson(requestEvent.getBody(), JsonObject.class);
 
-            Task item = table.getItem(
-                    Key.builder().partitionValue(pk).sortValue(sk).build()
-            );
-
-            if (item == null) {
-                return ApiResponseBuilder.createErrorResponse(404, "Item não encontrado.");
-            }
+            String newDescription = JsonBody.optionalString(body, "description");
+            Boolean done = JsonBody.optionalBoolean(body, "done");
+            Long expectedVersion = JsonBody.optionalLong(body, "version");
 
-            if (!body.has("description")){
+            // "done" é opcional; sem ele a descrição continua obrigatória
+            if (newDescription == null && done == null){
                 return ApiResponseBuilder.createErrorResponse(400, "Campo 'description' é obrigatório.");
             }
 
-            String newDescription = body.get("description").getAsString();
-            item.setDescription(newDescription);
-            table.putItem(item);
+            // Mudanças no "done" também atualizam o contador doneCount do cabeçalho da lista
+            Task item = done != null
+                    ? repository.updateItem(pk, sk, newDescription, done, expectedVersion)
+                    : repository.updateDescription(pk, sk, newDescription, expectedVersion);
+
+            if (item == null) {
+                return ApiResponseBuilder.createErrorResponse(404, "Item não encontrado.");
+            }
 
             log.log("Task atualizada com sucesso! PK=" + item.getPk() + " SK=" + item.getSk());
 
-            return ApiResponseBuilder.createSuccessResponse(200, gson.toJson(item));
+            return ApiResponseBuilder.createSuccessResponse(200, item);
+        } catch (VersionConflictException ex) {
+            log.log("Conflito de versão: " + ex.getMessage());
+            return ApiResponseBuilder.createErrorResponse(409, "O item foi alterado por outra requisição. Recarregue e tente novamente.");
+        } catch (IllegalArgumentException ex) {
+            return ApiResponseBuilder.createErrorResponse(400, ex.getMessage());
         } catch (JsonSyntaxException ex) {
             log.log("Erro de JSON: " + ex.getMessage());
             return ApiResponseBuilder.createErrorResponse(400, "JSON inválido");
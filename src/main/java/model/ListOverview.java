@@ -0,0 +1,59 @@
+package model;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Uma lista com a primeira página dos seus itens, como devolvida pela visão geral do usuário.
+ * Quando a lista tem mais itens do que o limite pedido, itemsNextToken continua a leitura pelo ListItemsList.
+ */
+public class ListOverview {
+    private Task list;
+    private List<Task> items;
+    private String itemsNextToken;
+
+    public ListOverview() {}
+
+    public ListOverview(Task list, List<Task> items, String itemsNextToken) {
+        this.list = list;
+        this.items = items;
+        this.itemsNextToken = itemsNextToken;
+    }
+
+    public Task getList() {
+        return list;
+    }
+
+    public void setList(Task list) {
+        this.list = list;
+    }
+
+    public List<Task> getItems() {
+        return items;
+    }
+
+    public void setItems(List<Task> items) {
+        this.items = items;
+    }
+
+    public String getItemsNextToken() {
+        return itemsNextToken;
+    }
+
+    public void setItemsNextToken(String itemsNextToken) {
+        this.itemsNextToken = itemsNextToken;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ListOverview that = (ListOverview) o;
+        return Objects.equals(list, that.list) && Objects.equals(items, that.items) && Objects.equals(itemsNextToken, that.itemsNextToken);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(list, items, itemsNextToken);
+    }
+}
@@ -2,17 +2,27 @@ package model;
 
 import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbBean;
 import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbPartitionKey;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbSecondaryPartitionKey;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbSecondarySortKey;
 import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbSortKey;
-import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 
 import java.util.Objects;
 
-@JsonPropertyOrder({"pk", "sk", "description"}) // Define a ordem dos campos na serialização jackson para csv
 @DynamoDbBean
 public class Task {
     private String pk;
     private String sk;
     private String description;
+    // Incrementada a cada atualização; usada para detectar escritas concorrentes
+    private Long version;
+    // Instante (ISO-8601, UTC) da última criação/atualização; usado pelas exportações incrementais
+    private String updatedAt;
+    // Itens: se o item foi concluído e o pk (USER#...) da lista dona, para manter os contadores do cabeçalho
+    private Boolean done;
+    private String ownerPk;
+    // Cabeçalhos de lista (sk = LIST#...): contadores mantidos com ADD atômico a cada escrita nos itens
+    private Long itemCount;
+    private Long doneCount;
 
     // Construtor para o dynamoDB
     public Task() {}
@@ -24,7 +34,21 @@ public class Task {
 
     }
 
+    // Cópia com todos os atributos (ex.: para o cache não compartilhar instâncias com quem as altera)
+    public Task(Task other) {
+        this.pk = other.pk;
+        this.sk = other.sk;
+        this.description = other.description;
+        this.version = other.version;
+        this.updatedAt = other.updatedAt;
+        this.done = other.done;
+        this.ownerPk = other.ownerPk;
+        this.itemCount = other.itemCount;
+        this.doneCount = other.doneCount;
+    }
+
     @DynamoDbPartitionKey
+    @DynamoDbSecondaryPartitionKey(indexNames = TaskSchema.UPDATED_AT_INDEX)
     public String getPk() {
         return pk;
     }
@@ -50,15 +74,65 @@ public class Task {
         this.description = description;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    @DynamoDbSecondarySortKey(indexNames = TaskSchema.UPDATED_AT_INDEX)
+    public String getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(String updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public Boolean getDone() {
+        return done;
+    }
+
+    public void setDone(Boolean done) {
+        this.done = done;
+    }
+
+    public String getOwnerPk() {
+        return ownerPk;
+    }
+
+    public void setOwnerPk(String ownerPk) {
+        this.ownerPk = ownerPk;
+    }
+
+    public Long getItemCount() {
+        return itemCount;
+    }
+
+    public void setItemCount(Long itemCount) {
+        this.itemCount = itemCount;
+    }
+
+    public Long getDoneCount() {
+        return doneCount;
+    }
+
+    public void setDoneCount(Long doneCount) {
+        this.doneCount = doneCount;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (o == null || getClass() != o.getClass()) return false;
         Task task = (Task) o;
-        return Objects.equals(pk, task.pk) && Objects.equals(sk, task.sk) && Objects.equals(description, task.description);
+        return Objects.equals(pk, task.pk) && Objects.equals(sk, task.sk) && Objects.equals(description, task.description) && Objects.equals(version, task.version) && Objects.equals(updatedAt, task.updatedAt)
+                && Objects.equals(done, task.done) && Objects.equals(ownerPk, task.ownerPk) && Objects.equals(itemCount, task.itemCount) && Objects.equals(doneCount, task.doneCount);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(pk, sk, description);
+        return Objects.hash(pk, sk, description, version, updatedAt, done, ownerPk, itemCount, doneCount);
     }
 }
\ No newline at end of file
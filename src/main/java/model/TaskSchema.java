@@ -0,0 +1,58 @@
+package model;
+
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.StaticTableSchema;
+
+import static software.amazon.awssdk.enhanced.dynamodb.mapper.StaticAttributeTags.primaryPartitionKey;
+import static software.amazon.awssdk.enhanced.dynamodb.mapper.StaticAttributeTags.primarySortKey;
+import static software.amazon.awssdk.enhanced.dynamodb.mapper.StaticAttributeTags.secondaryPartitionKey;
+import static software.amazon.awssdk.enhanced.dynamodb.mapper.StaticAttributeTags.secondarySortKey;
+
+/**
+ * Schema estático da tabela de tarefas.
+ * Equivale a TableSchema.fromBean(Task.class), mas é montado à mão com getters/setters explícitos,
+ * sem a introspecção por reflexão das anotações @DynamoDbBean no cold start.
+ * Qualquer atributo novo em Task precisa ser registrado aqui também.
+ */
+public final class TaskSchema {
+
+    // GSI (pk, updatedAt) usado para buscar só os itens alterados desde a última exportação
+    public static final String UPDATED_AT_INDEX = "pk-updatedAt-index";
+
+    public static final TableSchema<Task> TABLE_SCHEMA = StaticTableSchema.builder(Task.class)
+            .newItemSupplier(Task::new)
+            .addAttribute(String.class, a -> a.name("pk")
+                    .getter(Task::getPk)
+                    .setter(Task::setPk)
+                    .tags(primaryPartitionKey(), secondaryPartitionKey(UPDATED_AT_INDEX)))
+            .addAttribute(String.class, a -> a.name("sk")
+                    .getter(Task::getSk)
+                    .setter(Task::setSk)
+                    .tags(primarySortKey()))
+            .addAttribute(String.class, a -> a.name("description")
+                    .getter(Task::getDescription)
+                    .setter(Task::setDescription))
+            .addAttribute(Long.class, a -> a.name("version")
+                    .getter(Task::getVersion)
+                    .setter(Task::setVersion))
+            .addAttribute(String.class, a -> a.name("updatedAt")
+                    .getter(Task::getUpdatedAt)
+                    .setter(Task::setUpdatedAt)
+                    .tags(secondarySortKey(UPDATED_AT_INDEX)))
+            .addAttribute(Boolean.class, a -> a.name("done")
+                    .getter(Task::getDone)
+                    .setter(Task::setDone))
+            .addAttribute(String.class, a -> a.name("ownerPk")
+                    .getter(Task::getOwnerPk)
+                    .setter(Task::setOwnerPk))
+            .addAttribute(Long.class, a -> a.name("itemCount")
+                    .getter(Task::getItemCount)
+                    .setter(Task::setItemCount))
+            .addAttribute(Long.class, a -> a.name("doneCount")
+                    .getter(Task::getDoneCount)
+                    .setter(Task::setDoneCount))
+            .build();
+
+    // Construtor privado para impedir a instanciação da classe utilitária.
+    private TaskSchema() {}
+}
@@ -0,0 +1,27 @@
+package model;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Formatação dos instantes gravados em updatedAt.
+ * O formato tem largura fixa (sempre com milissegundos), para que a ordem das strings no índice
+ * do DynamoDB seja a mesma ordem cronológica; Instant.toString() omite frações zeradas e quebraria isso.
+ */
+public final class Timestamps {
+
+    private static final DateTimeFormatter FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'")
+            .withZone(ZoneOffset.UTC);
+
+    // Construtor privado para impedir a instanciação da classe utilitária.
+    private Timestamps() {}
+
+    public static String now() {
+        return format(Instant.now());
+    }
+
+    public static String format(Instant instant) {
+        return FORMAT.format(instant);
+    }
+}
@@ -0,0 +1,91 @@
+package repository;
+
+import model.ListOverview;
+import model.Task;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Percorre todas as listas de um usuário, cada uma com todos os seus itens, na ordem das listas.
+ * As consultas dos itens são disparadas em virtual threads com até 'parallelism' listas à frente da que está
+ * sendo consumida: as leituras se sobrepõem à escrita do arquivo, e a memória fica limitada a essa janela.
+ * Deve ser fechado ao final, para cancelar as consultas que ainda estiverem em andamento.
+ */
+public class AccountReader implements Iterator<ListOverview>, AutoCloseable {
+
+    private static final String LIST_PREFIX = "LIST#";
+
+    private final TaskRepository repository;
+    private final Iterator<Task> lists;
+    private final int parallelism;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Deque<Pending> window = new ArrayDeque<>();
+
+    public AccountReader(TaskRepository repository, String userPk, int parallelism) {
+        this.repository = repository;
+        this.lists = repository.streamTasksByPk(userPk).iterator();
+        this.parallelism = Math.max(1, parallelism);
+        fill();
+    }
+
+    @Override
+    public boolean hasNext() {
+        return !window.isEmpty();
+    }
+
+    /**
+     * @return A próxima lista com os seus itens (itemsNextToken é sempre null: os itens vêm completos).
+     * @throws IllegalStateException Se a consulta dos itens da lista falhar.
+     */
+    @Override
+    public ListOverview next() {
+        Pending pending = window.poll();
+        if (pending == null) {
+            throw new NoSuchElementException();
+        }
+        // Dispara a próxima consulta antes de esperar por esta, para manter a janela cheia
+        fill();
+        try {
+            return new ListOverview(pending.list, pending.items.get(), null);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Falha ao buscar os itens da lista " + pending.list.getSk(), e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrompido ao buscar os itens da lista " + pending.list.getSk(), e);
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private void fill() {
+        while (window.size() < parallelism && lists.hasNext()) {
+            Task list = lists.next();
+            if (list.getSk() == null || !list.getSk().startsWith(LIST_PREFIX)) {
+                continue;
+            }
+            // Os itens de uma lista ficam na partição cujo pk é o sk da lista
+            window.add(new Pending(list, executor.submit(() -> repository.getTasksByPk(list.getSk()))));
+        }
+    }
+
+    private static final class Pending {
+        private final Task list;
+        private final Future<List<Task>> items;
+
+        Pending(Task list, Future<List<Task>> items) {
+            this.list = list;
+            this.items = items;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package repository;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Espera entre novas tentativas de operações no DynamoDB (chaves não processadas de um BatchGetItem, transações em conflito).
+ * Usa backoff exponencial com "full jitter": um tempo aleatório entre zero e o teto da tentativa,
+ * para que chamadas paralelas não voltem todas ao mesmo tempo.
+ */
+final class Backoff {
+
+    private static final long BASE_DELAY_MILLIS = 50;
+    private static final long MAX_DELAY_MILLIS = 2_000;
+
+    private Backoff() {}
+
+    /**
+     * Dorme antes da próxima tentativa.
+     * @param attempt Número da tentativa que acabou de falhar (começando em zero).
+     * @return false se a thread foi interrompida e as tentativas devem parar.
+     */
+    static boolean sleep(int attempt) {
+        long ceiling = Math.min(MAX_DELAY_MILLIS, BASE_DELAY_MILLIS << Math.min(attempt, 16));
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(ceiling + 1));
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package repository;
+
+import java.util.List;
+
+/**
+ * Resultado de uma escrita em lote: o que foi gravado e o que falhou mesmo após as novas tentativas.
+ */
+public class BatchOutcome<T> {
+    private final List<T> succeeded;
+    private final List<T> failed;
+
+    public BatchOutcome(List<T> succeeded, List<T> failed) {
+        this.succeeded = succeeded;
+        this.failed = failed;
+    }
+
+    public List<T> getSucceeded() {
+        return succeeded;
+    }
+
+    public List<T> getFailed() {
+        return failed;
+    }
+}
@@ -0,0 +1,234 @@
+package repository;
+
+import model.Task;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
+import software.amazon.awssdk.enhanced.dynamodb.Key;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * TaskRepository com cache em memória (por container) das leituras por chave: getTask e skListExists.
+ * O cache é limitado em número de entradas (LRU), cada entrada expira após o TTL e chaves inexistentes
+ * também são guardadas, por um tempo menor. As escritas feitas por este container invalidam as chaves afetadas;
+ * escritas feitas por outros containers só são vistas depois que a entrada expira.
+ * O cache guarda e devolve cópias: quem recebe um Task pode alterá-lo sem afetar as próximas leituras.
+ */
+public class CachingTaskRepository extends TaskRepository {
+
+    public static final int DEFAULT_MAX_ENTRIES = 1000;
+    public static final Duration DEFAULT_NEGATIVE_TTL = Duration.ofSeconds(5);
+
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final long negativeTtlNanos;
+    private final LongSupplier clock;
+
+    // LinkedHashMap em ordem de acesso: a entrada usada há mais tempo é a primeira a sair
+    private final Map<String, Entry> cache;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public CachingTaskRepository(DynamoDbTable<Task> table, DynamoDbClient client,
+                                 int maxEntries, Duration ttl, Duration negativeTtl) {
+        this(table, client, maxEntries, ttl, negativeTtl, System::nanoTime);
+    }
+
+    CachingTaskRepository(DynamoDbTable<Task> table, DynamoDbClient client,
+                          int maxEntries, Duration ttl, Duration negativeTtl, LongSupplier clock) {
+        super(table, client);
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttl.toNanos();
+        this.negativeTtlNanos = Math.min(negativeTtl.toNanos(), ttlNanos);
+        this.clock = clock;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > CachingTaskRepository.this.maxEntries;
+            }
+        };
+    }
+
+    @Override
+    public List<Task> getTask(String pk, String sk) {
+        Task task = cachedGet(pk, sk);
+        return task != null ? Collections.singletonList(task) : Collections.emptyList();
+    }
+
+    // Só o item inteiro é guardado; leituras projetadas vão direto ao DynamoDB
+    @Override
+    public List<Task> getTask(String pk, String sk, List<String> fields) {
+        return fields == null ? getTask(pk, sk) : super.getTask(pk, sk, fields);
+    }
+
+    @Override
+    public boolean skListExists(String pkList, String skList) {
+        return cachedGet(pkList, skList) != null;
+    }
+
+    @Override
+    public boolean createItemInList(String pkList, String skList, Task item) {
+        // Lista pai sabidamente inexistente: evita a transação. Se existir, o ConditionCheck continua valendo.
+        Entry parent = lookup(idOf(pkList, skList));
+        if (parent != null && parent.task == null) {
+            hits.incrementAndGet();
+            return false;
+        }
+        boolean created = super.createItemInList(pkList, skList, item);
+        invalidate(item.getPk(), item.getSk());
+        // Os contadores do cabeçalho mudaram junto com o item
+        invalidate(pkList, skList);
+        if (!created) {
+            store(idOf(pkList, skList), null);
+        }
+        return created;
+    }
+
+    @Override
+    public BatchOutcome<Task> createItemsInList(String pkList, String skList, List<Task> items) {
+        try {
+            return super.createItemsInList(pkList, skList, items);
+        } finally {
+            items.forEach(item -> invalidate(item.getPk(), item.getSk()));
+            invalidate(pkList, skList);
+        }
+    }
+
+    @Override
+    public BatchOutcome<Key> deleteItemsInList(String pk, List<String> sks) {
+        try {
+            return super.deleteItemsInList(pk, sks);
+        } finally {
+            sks.forEach(sk -> invalidate(pk, sk));
+            invalidateListHeader(pk);
+        }
+    }
+
+    @Override
+    public void deleteTask(String pk, String sk) {
+        try {
+            super.deleteTask(pk, sk);
+        } finally {
+            invalidate(pk, sk);
+            invalidateListHeader(pk);
+        }
+    }
+
+    @Override
+    public Task updateItem(String pk, String sk, String description, boolean done, Long expectedVersion) {
+        try {
+            return super.updateItem(pk, sk, description, done, expectedVersion);
+        } finally {
+            invalidate(pk, sk);
+            invalidateListHeader(pk);
+        }
+    }
+
+    @Override
+    public Task updateDescription(String pk, String sk, String description, Long expectedVersion) {
+        try {
+            return super.updateDescription(pk, sk, description, expectedVersion);
+        } finally {
+            invalidate(pk, sk);
+        }
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    // Resumo dos contadores para os logs dos handlers que leem pelo cache
+    public String stats() {
+        return "Cache de tarefas: " + getHits() + " acertos, " + getMisses() + " faltas, " + size() + " entradas";
+    }
+
+    public int size() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    // Descarta todas as entradas (ex.: antes do checkpoint do SnapStart, para não levar dados antigos no snapshot)
+    public void invalidateAll() {
+        synchronized (cache) {
+            cache.clear();
+        }
+    }
+
+    // Leitura pelo cache; na falta, busca no DynamoDB e guarda o resultado (inclusive a ausência do item).
+    // Devolve sempre uma instância que não é a guardada no cache
+    private Task cachedGet(String pk, String sk) {
+        String id = idOf(pk, sk);
+        Entry entry = lookup(id);
+        if (entry != null) {
+            hits.incrementAndGet();
+            return entry.task != null ? new Task(entry.task) : null;
+        }
+        misses.incrementAndGet();
+
+        List<Task> found = super.getTask(pk, sk);
+        Task task = found.isEmpty() ? null : found.get(0);
+        store(id, task);
+        return task;
+    }
+
+    // Entrada válida para a chave, ou null se não houver ou se já tiver expirado
+    private Entry lookup(String id) {
+        synchronized (cache) {
+            Entry entry = cache.get(id);
+            if (entry != null && clock.getAsLong() - entry.expiresAt >= 0) {
+                cache.remove(id);
+                return null;
+            }
+            return entry;
+        }
+    }
+
+    private void store(String id, Task task) {
+        long expiresAt = clock.getAsLong() + (task != null ? ttlNanos : negativeTtlNanos);
+        Entry entry = new Entry(task != null ? new Task(task) : null, expiresAt);
+        synchronized (cache) {
+            cache.put(id, entry);
+        }
+    }
+
+    private void invalidate(String pk, String sk) {
+        synchronized (cache) {
+            cache.remove(idOf(pk, sk));
+        }
+    }
+
+    // O pk do item é o sk do cabeçalho da lista; o pk do dono não é conhecido aqui, então a busca é pelo sufixo
+    private void invalidateListHeader(String listSk) {
+        String suffix = '\u0000' + listSk;
+        synchronized (cache) {
+            cache.keySet().removeIf(id -> id.endsWith(suffix));
+        }
+    }
+
+    private static String idOf(String pk, String sk) {
+        return pk + '\u0000' + sk;
+    }
+
+    // task == null representa uma chave que não existe na tabela (cache negativo)
+    private static final class Entry {
+        private final Task task;
+        private final long expiresAt;
+
+        Entry(Task task, long expiresAt) {
+            this.task = task;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -1,20 +1,66 @@
 package repository;
 
 import model.Task;
+import model.TaskSchema;
+import model.Timestamps;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbIndex;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
-import software.amazon.awssdk.enhanced.dynamodb.model.QueryConditional;
+import software.amazon.awssdk.enhanced.dynamodb.Expression;
 import software.amazon.awssdk.enhanced.dynamodb.Key;
+import software.amazon.awssdk.enhanced.dynamodb.model.GetItemEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.Page;
+import software.amazon.awssdk.enhanced.dynamodb.model.QueryConditional;
+import software.amazon.awssdk.enhanced.dynamodb.model.QueryEnhancedRequest;
+import software.amazon.awssdk.core.exception.SdkException;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.BatchGetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.BatchGetItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
+import software.amazon.awssdk.services.dynamodb.model.Delete;
+import software.amazon.awssdk.services.dynamodb.model.GetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.GetItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.KeysAndAttributes;
+import software.amazon.awssdk.services.dynamodb.model.Put;
+import software.amazon.awssdk.services.dynamodb.model.ReturnValue;
+import software.amazon.awssdk.services.dynamodb.model.ReturnValuesOnConditionCheckFailure;
+import software.amazon.awssdk.services.dynamodb.model.TransactWriteItem;
+import software.amazon.awssdk.services.dynamodb.model.TransactWriteItemsRequest;
+import software.amazon.awssdk.services.dynamodb.model.TransactionCanceledException;
+import software.amazon.awssdk.services.dynamodb.model.Update;
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemRequest;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.function.Consumer;
 
 public class TaskRepository {
 
+    private static final String WATERMARK_PREFIX = "WATERMARK#";
+
+    // Limite de chaves por chamada BatchGetItem
+    static final int MAX_BATCH_GET_SIZE = 100;
+
+    // Limite de operações por TransactWriteItems; nas escritas em lote uma delas é o Update do cabeçalho da lista
+    static final int MAX_TRANSACTION_ITEMS = 100;
+
+    // Tentativas de uma operação que o DynamoDB devolveu sem processar ou que conflitou com outra escrita
+    static final int MAX_ATTEMPTS = 5;
+
     private final DynamoDbTable<Task> table;
+    private final DynamoDbClient client;
 
-    public TaskRepository(DynamoDbTable<Task> table) {
+    public TaskRepository(DynamoDbTable<Task> table, DynamoDbClient client) {
         this.table = table;
+        this.client = client;
     }
 
     // Busca todas as tarefas de um usuário
@@ -28,6 +74,80 @@ public class TaskRepository {
         return result;
     }
 
+    // Percorre as tarefas de um pk sob demanda: cada página só é buscada quando a anterior termina de ser consumida
+    public Iterable<Task> streamTasksByPk(String pk) {
+        return streamTasksByPk(pk, null);
+    }
+
+    /**
+     * Percorre as tarefas de um pk sob demanda lendo só os atributos informados (ProjectionExpression).
+     * @param fields Os atributos a ler; null lê o item inteiro.
+     */
+    public Iterable<Task> streamTasksByPk(String pk, List<String> fields) {
+        QueryEnhancedRequest.Builder request = QueryEnhancedRequest.builder()
+                .queryConditional(QueryConditional.keyEqualTo(Key.builder().partitionValue(pk).build()));
+        if (fields != null) {
+            fields.forEach(request::addAttributeToProject);
+        }
+
+        return table.query(request.build()).items();
+    }
+
+    // Percorre sob demanda só os itens de um pk alterados a partir do instante informado, inclusive (GSI pk-updatedAt-index)
+    public Iterable<Task> streamTasksUpdatedSince(String pk, String since) {
+        return streamTasksUpdatedSince(pk, since, null);
+    }
+
+    /**
+     * Como streamTasksUpdatedSince, lendo só os atributos informados (ProjectionExpression).
+     * @param fields Os atributos a ler; null lê o item inteiro.
+     */
+    public Iterable<Task> streamTasksUpdatedSince(String pk, String since, List<String> fields) {
+        DynamoDbIndex<Task> index = table.index(TaskSchema.UPDATED_AT_INDEX);
+        QueryEnhancedRequest.Builder request = QueryEnhancedRequest.builder()
+                .queryConditional(QueryConditional.sortGreaterThanOrEqualTo(
+                        Key.builder().partitionValue(pk).sortValue(since).build()));
+        if (fields != null) {
+            fields.forEach(request::addAttributeToProject);
+        }
+        QueryEnhancedRequest query = request.build();
+
+        return () -> index.query(query).stream().flatMap(page -> page.items().stream()).iterator();
+    }
+
+    // Marca d'água da última exportação incremental de um pk feita por um usuário, ou null se nunca houve uma
+    public String getExportWatermark(String email, String pk) {
+        Task watermark = table.getItem(Key.builder().partitionValue(WATERMARK_PREFIX + email).sortValue(pk).build());
+        return watermark != null ? watermark.getUpdatedAt() : null;
+    }
+
+    public void saveExportWatermark(String email, String pk, String watermark) {
+        Task item = new Task(WATERMARK_PREFIX + email, pk, null);
+        item.setUpdatedAt(watermark);
+        table.putItem(item);
+    }
+
+    // Busca uma única página das tarefas de um pk, a partir da chave devolvida pela página anterior
+    public Page<Task> getTasksPageByPk(String pk, int limit, Map<String, AttributeValue> exclusiveStartKey) {
+        return getTasksPageByPk(pk, limit, exclusiveStartKey, null);
+    }
+
+    /**
+     * Busca uma única página das tarefas de um pk lendo só os atributos informados (ProjectionExpression).
+     * @param fields Os atributos a ler (ver Projection.parseFields); null lê o item inteiro.
+     */
+    public Page<Task> getTasksPageByPk(String pk, int limit, Map<String, AttributeValue> exclusiveStartKey, List<String> fields) {
+        QueryEnhancedRequest.Builder request = QueryEnhancedRequest.builder()
+                .queryConditional(QueryConditional.keyEqualTo(Key.builder().partitionValue(pk).build()))
+                .limit(limit)
+                .exclusiveStartKey(exclusiveStartKey);
+        if (fields != null) {
+            fields.forEach(request::addAttributeToProject);
+        }
+
+        return table.query(request.build()).iterator().next();
+    }
+
     // Busca tarefa específica pelo ID
     public List<Task> getTask(String pk, String sk) {
         Key key = Key.builder()
@@ -39,6 +159,99 @@ public class TaskRepository {
         return item != null ? Collections.singletonList(item) : Collections.emptyList();
     }
 
+    /**
+     * Busca tarefa específica pelo ID lendo só os atributos informados.
+     * O GetItem do cliente enhanced não aceita projeção, então a leitura projetada usa o cliente de baixo nível.
+     * @param fields Os atributos a ler (ver Projection.parseFields); null lê o item inteiro.
+     */
+    public List<Task> getTask(String pk, String sk, List<String> fields) {
+        if (fields == null) {
+            return getTask(pk, sk);
+        }
+
+        GetItemRequest.Builder request = GetItemRequest.builder()
+                .tableName(table.tableName())
+                .key(keyOf(pk, sk));
+        applyProjection(fields, request::projectionExpression, request::expressionAttributeNames);
+
+        GetItemResponse response = client.getItem(request.build());
+        return response.hasItem() && !response.item().isEmpty()
+                ? Collections.singletonList(table.tableSchema().mapToItem(response.item()))
+                : Collections.emptyList();
+    }
+
+    /**
+     * Busca várias tarefas pelas chaves com BatchGetItem (até 100 chaves por chamada).
+     * As UnprocessedKeys são reenviadas com backoff; chaves repetidas são buscadas uma única vez.
+     * @param keys As chaves (pk/sk) a buscar.
+     * @return As tarefas encontradas, na ordem das chaves pedidas; chaves inexistentes são omitidas e uma chave
+     *         repetida devolve a tarefa uma única vez, na posição da primeira ocorrência.
+     * @throws IllegalStateException Se ainda houver chaves não processadas após as novas tentativas.
+     */
+    public List<Task> batchGetTasks(List<Key> keys) {
+        return batchGetTasks(keys, null);
+    }
+
+    /**
+     * Igual a batchGetTasks(keys), mas lendo só os atributos informados (pk e sk precisam estar entre eles).
+     * @param fields Os atributos a ler (ver Projection.parseFields); null lê os itens inteiros.
+     */
+    public List<Task> batchGetTasks(List<Key> keys, List<String> fields) {
+        return batchGet(keys, fields, false);
+    }
+
+    private List<Task> batchGet(List<Key> keys, List<String> fields, boolean consistentRead) {
+        Map<String, Map<String, AttributeValue>> unique = new LinkedHashMap<>();
+        for (Key key : keys) {
+            Map<String, AttributeValue> keyMap = key.primaryKeyMap(table.tableSchema());
+            unique.putIfAbsent(idOf(keyMap), keyMap);
+        }
+
+        List<Map<String, AttributeValue>> pending = new ArrayList<>(unique.values());
+        Map<String, Task> found = new HashMap<>();
+        for (int i = 0; i < pending.size(); i += MAX_BATCH_GET_SIZE) {
+            batchGetWithRetry(pending.subList(i, Math.min(i + MAX_BATCH_GET_SIZE, pending.size())), fields, consistentRead, found);
+        }
+
+        List<Task> result = new ArrayList<>(unique.size());
+        for (String id : unique.keySet()) {
+            Task task = found.get(id);
+            if (task != null) {
+                result.add(task);
+            }
+        }
+        return result;
+    }
+
+    private void batchGetWithRetry(List<Map<String, AttributeValue>> chunk, List<String> fields, boolean consistentRead, Map<String, Task> found) {
+        String tableName = table.tableName();
+        KeysAndAttributes.Builder keysAndAttributes = KeysAndAttributes.builder().keys(chunk).consistentRead(consistentRead);
+        if (fields != null) {
+            applyProjection(fields, keysAndAttributes::projectionExpression, keysAndAttributes::expressionAttributeNames);
+        }
+        // As UnprocessedKeys voltam com a mesma projeção do pedido original
+        KeysAndAttributes request = keysAndAttributes.build();
+
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            BatchGetItemResponse response = client.batchGetItem(BatchGetItemRequest.builder()
+                    .requestItems(Map.of(tableName, request))
+                    .build());
+
+            for (Map<String, AttributeValue> item : response.responses().getOrDefault(tableName, List.of())) {
+                found.put(idOf(item), table.tableSchema().mapToItem(item));
+            }
+
+            request = response.unprocessedKeys().get(tableName);
+            if (request == null || !request.hasKeys() || request.keys().isEmpty()) {
+                return;
+            }
+            if (attempt + 1 < MAX_ATTEMPTS && !Backoff.sleep(attempt)) {
+                break;
+            }
+        }
+        throw new IllegalStateException("Não foi possível buscar todas as chaves após " + MAX_ATTEMPTS + " tentativas");
+    }
+
     public boolean skListExists(String pkList, String skList) {
         Key key = Key.builder()
                 .partitionValue(pkList)
@@ -47,4 +260,486 @@ public class TaskRepository {
 
         return table.getItem(key) != null;
     }
+
+    /**
+     * Cria um item dentro de uma lista em uma única TransactWriteItems:
+     * o Update do cabeçalho da lista pai (condicionado à existência dela), que soma 1 aos contadores, e o Put do novo item.
+     * @param pkList O pk da lista pai (USER#...).
+     * @param skList O sk da lista pai (LIST#...).
+     * @param item O item já com pk/sk definitivos; o ownerPk é preenchido aqui.
+     * @return true se o item foi criado; false se a lista pai não existir.
+     */
+    public boolean createItemInList(String pkList, String skList, Task item) {
+        item.setOwnerPk(pkList);
+
+        TransactWriteItemsRequest request = TransactWriteItemsRequest.builder()
+                .transactItems(
+                        TransactWriteItem.builder().update(counterUpdate(pkList, skList, 1, Boolean.TRUE.equals(item.getDone()) ? 1 : 0)).build(),
+                        TransactWriteItem.builder().put(Put.builder()
+                                .tableName(table.tableName())
+                                .item(table.tableSchema().itemToMap(item, true))
+                                .build()).build())
+                .build();
+
+        try {
+            client.transactWriteItems(request);
+            return true;
+        } catch (TransactionCanceledException e) {
+            // A primeira operação da transação é o Update condicional da lista pai
+            if (conditionFailed(e, 0)) {
+                return false;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Remove um item (ou o cabeçalho de uma lista) pela chave; não falha se ele já não existir.
+     * Itens com lista dona conhecida são removidos na mesma transação que desconta os contadores do cabeçalho.
+     * A remoção é condicionada ao estado "done" lido antes; se ele mudar no meio, a leitura é refeita.
+     */
+    public void deleteTask(String pk, String sk) {
+        Key key = Key.builder().partitionValue(pk).sortValue(sk).build();
+
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            Task current = table.getItem(GetItemEnhancedRequest.builder().key(key).consistentRead(true).build());
+            if (current == null) {
+                return;
+            }
+            if (current.getOwnerPk() == null) {
+                // Cabeçalho de lista ou item antigo, sem contadores para manter
+                table.deleteItem(key);
+                return;
+            }
+
+            boolean done = Boolean.TRUE.equals(current.getDone());
+            try {
+                client.transactWriteItems(TransactWriteItemsRequest.builder()
+                        .transactItems(
+                                TransactWriteItem.builder().delete(conditionalDelete(pk, sk, done)).build(),
+                                TransactWriteItem.builder().update(counterUpdate(current.getOwnerPk(), pk, -1, done ? -1 : 0)).build())
+                        .build());
+                return;
+            } catch (TransactionCanceledException e) {
+                if (conditionFailed(e, 1)) {
+                    // A lista dona não existe mais: só o item é removido
+                    table.deleteItem(key);
+                    return;
+                }
+                if (!conditionFailed(e, 0)) {
+                    throw e;
+                }
+            }
+        }
+        throw new IllegalStateException("O item mudou durante todas as " + MAX_ATTEMPTS + " tentativas de remoção");
+    }
+
+    /**
+     * Cria vários itens em uma lista com TransactWriteItems: cada bloco de até 99 Puts (condicionados a não sobrescrever
+     * um item existente) vai na mesma transação que o ADD dos contadores do cabeçalho, então os contadores só mudam
+     * junto com os itens. Os blocos são gravados em sequência: transações simultâneas no mesmo cabeçalho conflitariam.
+     * @param pkList O pk da lista pai (USER#...).
+     * @param skList O sk da lista pai (LIST#...).
+     * @param items Os itens já com pk/sk definitivos; o ownerPk é preenchido aqui.
+     * @return Os itens gravados e os que falharam; a transação é atômica, então um bloco falha inteiro.
+     */
+    public BatchOutcome<Task> createItemsInList(String pkList, String skList, List<Task> items) {
+        List<Task> succeeded = new ArrayList<>();
+        List<Task> failed = new ArrayList<>();
+        boolean listExists = true;
+
+        for (int i = 0; i < items.size(); i += MAX_TRANSACTION_ITEMS - 1) {
+            List<Task> chunk = items.subList(i, Math.min(i + MAX_TRANSACTION_ITEMS - 1, items.size()));
+            if (!listExists) {
+                failed.addAll(chunk);
+                continue;
+            }
+
+            List<TransactWriteItem> writes = new ArrayList<>(chunk.size() + 1);
+            long done = 0;
+            for (Task item : chunk) {
+                item.setOwnerPk(pkList);
+                if (Boolean.TRUE.equals(item.getDone())) {
+                    done++;
+                }
+                writes.add(TransactWriteItem.builder().put(Put.builder()
+                        .tableName(table.tableName())
+                        .item(table.tableSchema().itemToMap(item, true))
+                        .conditionExpression("attribute_not_exists(pk)")
+                        .build()).build());
+            }
+            // O Update do cabeçalho é sempre a primeira operação da transação
+            writes.add(0, TransactWriteItem.builder().update(counterUpdate(pkList, skList, chunk.size(), done)).build());
+
+            try {
+                TransactionCanceledException cancelled = transact(writes);
+                if (cancelled == null) {
+                    succeeded.addAll(chunk);
+                } else {
+                    // A lista pai não existe mais: nenhum bloco seguinte teria sucesso
+                    listExists = !conditionFailed(cancelled, 0);
+                    failed.addAll(chunk);
+                }
+            } catch (SdkException e) {
+                failed.addAll(chunk);
+            }
+        }
+        return new BatchOutcome<>(succeeded, failed);
+    }
+
+    /**
+     * Remove vários itens de uma lista descontando os contadores do cabeçalho na mesma transação.
+     * O estado atual dos itens é lido com leitura consistente; cada Delete é condicionado a esse estado
+     * (o item ainda existe e o "done" não mudou), então o contador só se move pelos itens que esta chamada removeu.
+     * Itens que mudaram ou sumiram no meio são relidos na rodada seguinte; itens já inexistentes contam como removidos.
+     * Itens sem lista dona (antigos) ou de lista já removida não têm contadores: vão em transações só com os Deletes
+     * condicionais, até 100 por vez, com as mesmas novas tentativas.
+     * @param pk O pk dos itens (LIST#...).
+     * @param sks Os sk dos itens a remover.
+     * @return As chaves removidas e as que falharam mesmo após as novas tentativas.
+     */
+    public BatchOutcome<Key> deleteItemsInList(String pk, List<String> sks) {
+        List<Key> succeeded = new ArrayList<>();
+        List<Key> failed = new ArrayList<>();
+        Set<String> ownersWithoutHeader = new HashSet<>();
+        List<String> pending = new ArrayList<>(new LinkedHashSet<>(sks));
+
+        for (int attempt = 0; attempt < MAX_ATTEMPTS && !pending.isEmpty(); attempt++) {
+            if (attempt > 0 && !Backoff.sleep(attempt - 1)) {
+                break;
+            }
+
+            List<Key> keys = new ArrayList<>(pending.size());
+            pending.forEach(sk -> keys.add(Key.builder().partitionValue(pk).sortValue(sk).build()));
+            Map<String, Task> current = new HashMap<>();
+            batchGet(keys, null, true).forEach(task -> current.put(task.getSk(), task));
+
+            // Agrupados pela lista dona; a chave null junta os itens sem contadores a descontar
+            Map<String, List<Task>> byOwner = new LinkedHashMap<>();
+            for (Key key : keys) {
+                String sk = key.sortKeyValue().map(AttributeValue::s).orElseThrow();
+                Task task = current.get(sk);
+                if (task == null) {
+                    // Já removido (por outra requisição ou numa rodada anterior): nada a descontar
+                    succeeded.add(key);
+                } else {
+                    String owner = ownersWithoutHeader.contains(task.getOwnerPk()) ? null : task.getOwnerPk();
+                    byOwner.computeIfAbsent(owner, ignored -> new ArrayList<>()).add(task);
+                }
+            }
+
+            List<String> retry = new ArrayList<>();
+            for (Map.Entry<String, List<Task>> owner : byOwner.entrySet()) {
+                List<Task> tasks = owner.getValue();
+                boolean counted = owner.getKey() != null;
+                int chunkSize = counted ? MAX_TRANSACTION_ITEMS - 1 : MAX_TRANSACTION_ITEMS;
+                for (int i = 0; i < tasks.size(); i += chunkSize) {
+                    List<Task> chunk = tasks.subList(i, Math.min(i + chunkSize, tasks.size()));
+                    List<TransactWriteItem> writes = new ArrayList<>(chunk.size() + 1);
+                    long done = 0;
+                    for (Task task : chunk) {
+                        boolean taskDone = Boolean.TRUE.equals(task.getDone());
+                        if (taskDone) {
+                            done++;
+                        }
+                        writes.add(TransactWriteItem.builder().delete(conditionalDelete(pk, task.getSk(), taskDone)).build());
+                    }
+                    if (counted) {
+                        writes.add(0, TransactWriteItem.builder().update(counterUpdate(owner.getKey(), pk, -chunk.size(), -done)).build());
+                    }
+
+                    try {
+                        TransactionCanceledException cancelled = transact(writes);
+                        if (cancelled == null) {
+                            chunk.forEach(task -> succeeded.add(Key.builder().partitionValue(pk).sortValue(task.getSk()).build()));
+                            continue;
+                        }
+                        if (counted && conditionFailed(cancelled, 0)) {
+                            // A lista dona não existe mais: na próxima rodada os itens são removidos sem contadores
+                            ownersWithoutHeader.add(owner.getKey());
+                        }
+                        chunk.forEach(task -> retry.add(task.getSk()));
+                    } catch (SdkException e) {
+                        chunk.forEach(task -> failed.add(Key.builder().partitionValue(pk).sortValue(task.getSk()).build()));
+                    }
+                }
+            }
+            pending = retry;
+        }
+        pending.forEach(sk -> failed.add(Key.builder().partitionValue(pk).sortValue(sk).build()));
+        return new BatchOutcome<>(succeeded, failed);
+    }
+
+    // Busca os sk dos itens de um pk cuja descrição contém o texto; só as chaves são lidas do DynamoDB
+    public List<String> findSksByDescription(String pk, String text) {
+        QueryEnhancedRequest request = QueryEnhancedRequest.builder()
+                .queryConditional(QueryConditional.keyEqualTo(Key.builder().partitionValue(pk).build()))
+                .filterExpression(Expression.builder()
+                        .expression("contains(#description, :text)")
+                        .putExpressionName("#description", "description")
+                        .putExpressionValue(":text", AttributeValue.builder().s(text).build())
+                        .build())
+                .attributesToProject("pk", "sk")
+                .build();
+
+        List<String> result = new ArrayList<>();
+        table.query(request).items().forEach(item -> result.add(item.getSk()));
+        return result;
+    }
+
+    /**
+     * Atualiza a descrição de um item existente em uma única chamada UpdateItem, incrementando a versão.
+     * @param expectedVersion Versão que o cliente leu; se informada, a escrita só acontece se ainda for a atual.
+     * @return O item atualizado (ALL_NEW), ou null se o item não existir.
+     * @throws VersionConflictException Se o item existir mas estiver em outra versão.
+     */
+    public Task updateDescription(String pk, String sk, String description, Long expectedVersion) {
+        Map<String, String> names = new HashMap<>();
+        names.put("#description", "description");
+        names.put("#version", "version");
+        names.put("#updatedAt", "updatedAt");
+
+        Map<String, AttributeValue> values = new HashMap<>();
+        values.put(":description", AttributeValue.builder().s(description).build());
+        values.put(":zero", AttributeValue.builder().n("0").build());
+        values.put(":one", AttributeValue.builder().n("1").build());
+        values.put(":now", AttributeValue.builder().s(Timestamps.now()).build());
+
+        String condition = "attribute_exists(pk)";
+        if (expectedVersion != null) {
+            condition += " AND #version = :expected";
+            values.put(":expected", AttributeValue.builder().n(expectedVersion.toString()).build());
+        }
+
+        UpdateItemRequest request = UpdateItemRequest.builder()
+                .tableName(table.tableName())
+                .key(keyOf(pk, sk))
+                .updateExpression("SET #description = :description, #version = if_not_exists(#version, :zero) + :one, #updatedAt = :now")
+                .conditionExpression(condition)
+                .expressionAttributeNames(names)
+                .expressionAttributeValues(values)
+                .returnValues(ReturnValue.ALL_NEW)
+                .returnValuesOnConditionCheckFailure(ReturnValuesOnConditionCheckFailure.ALL_OLD)
+                .build();
+
+        try {
+            return table.tableSchema().mapToItem(client.updateItem(request).attributes());
+        } catch (ConditionalCheckFailedException e) {
+            // Com ALL_OLD o DynamoDB devolve o item atual quando ele existe: a falha foi de versão, não de existência
+            if (e.hasItem() && !e.item().isEmpty()) {
+                throw new VersionConflictException("O item foi alterado por outra requisição");
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Atualiza a descrição (opcional) e o estado "done" de um item, sem ler o item antes.
+     * Primeiro tenta um UpdateItem condicionado a o "done" não mudar: é o caso comum e os contadores não se movem.
+     * Se a condição falhar, o item atual vem no próprio erro (ALL_OLD); quando o "done" de fato muda, o item e o
+     * contador doneCount do cabeçalho da lista são gravados na mesma transação, condicionada ao estado devolvido.
+     * @param description Nova descrição, ou null para manter a atual.
+     * @param expectedVersion Versão que o cliente leu; se informada, a escrita só acontece se ainda for a atual.
+     * @return O item atualizado, ou null se o item não existir.
+     * @throws VersionConflictException Se o item existir mas estiver em outra versão.
+     */
+    public Task updateItem(String pk, String sk, String description, boolean done, Long expectedVersion) {
+        boolean withCounters = true;
+
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            String now = Timestamps.now();
+            Map<String, String> names = new HashMap<>();
+            Map<String, AttributeValue> values = new HashMap<>();
+            String expression = itemUpdateExpression(description, done, now, names, values);
+
+            String condition = "attribute_exists(pk) AND " + (done ? "#done = :done" : "(attribute_not_exists(#done) OR #done = :done)");
+            if (expectedVersion != null) {
+                condition += " AND #version = :expected";
+                values.put(":expected", AttributeValue.builder().n(expectedVersion.toString()).build());
+            }
+
+            Task current;
+            try {
+                return table.tableSchema().mapToItem(client.updateItem(UpdateItemRequest.builder()
+                        .tableName(table.tableName())
+                        .key(keyOf(pk, sk))
+                        .updateExpression(expression)
+                        .conditionExpression(condition)
+                        .expressionAttributeNames(names)
+                        .expressionAttributeValues(values)
+                        .returnValues(ReturnValue.ALL_NEW)
+                        .returnValuesOnConditionCheckFailure(ReturnValuesOnConditionCheckFailure.ALL_OLD)
+                        .build()).attributes());
+            } catch (ConditionalCheckFailedException e) {
+                if (!e.hasItem() || e.item().isEmpty()) {
+                    return null;
+                }
+                current = table.tableSchema().mapToItem(e.item());
+            }
+            if (expectedVersion != null && !expectedVersion.equals(current.getVersion())) {
+                throw new VersionConflictException("O item foi alterado por outra requisição");
+            }
+            if (Boolean.TRUE.equals(current.getDone()) == done) {
+                // O "done" voltou ao valor pedido entre a falha e a leitura dela: tenta de novo pelo caminho comum
+                continue;
+            }
+
+            // O "done" muda: a escrita vale só para o estado devolvido acima, então o delta do contador é exato
+            values.remove(":expected");
+            String seen;
+            if (current.getVersion() != null) {
+                seen = "#version = :seen";
+                values.put(":seen", AttributeValue.builder().n(current.getVersion().toString()).build());
+            } else {
+                seen = "attribute_exists(pk) AND attribute_not_exists(#version)";
+            }
+            Update update = Update.builder()
+                    .tableName(table.tableName())
+                    .key(keyOf(pk, sk))
+                    .updateExpression(expression)
+                    .conditionExpression(seen)
+                    .expressionAttributeNames(names)
+                    .expressionAttributeValues(values)
+                    .build();
+
+            try {
+                if (withCounters && current.getOwnerPk() != null) {
+                    client.transactWriteItems(TransactWriteItemsRequest.builder()
+                            .transactItems(
+                                    TransactWriteItem.builder().update(update).build(),
+                                    TransactWriteItem.builder().update(counterUpdate(current.getOwnerPk(), pk, 0, done ? 1 : -1)).build())
+                            .build());
+                } else {
+                    client.updateItem(UpdateItemRequest.builder()
+                            .tableName(update.tableName())
+                            .key(update.key())
+                            .updateExpression(update.updateExpression())
+                            .conditionExpression(update.conditionExpression())
+                            .expressionAttributeNames(update.expressionAttributeNames())
+                            .expressionAttributeValues(update.expressionAttributeValues())
+                            .build());
+                }
+                // Mesmo resultado do UpdateExpression, sem ler o item de novo
+                current.setDone(done);
+                if (description != null) {
+                    current.setDescription(description);
+                }
+                current.setVersion((current.getVersion() != null ? current.getVersion() : 0L) + 1);
+                current.setUpdatedAt(now);
+                return current;
+            } catch (TransactionCanceledException e) {
+                if (conditionFailed(e, 1)) {
+                    // A lista dona não existe mais: o item é atualizado sem mexer em contadores
+                    withCounters = false;
+                } else if (!conditionFailed(e, 0)) {
+                    throw e;
+                }
+            } catch (ConditionalCheckFailedException e) {
+                // Outra escrita chegou entre as duas tentativas: recomeça pelo caminho comum
+            }
+        }
+        throw new IllegalStateException("O item mudou durante todas as " + MAX_ATTEMPTS + " tentativas de atualização");
+    }
+
+    // SET do updateItem; preenche os nomes e valores usados pela expressão
+    private static String itemUpdateExpression(String description, boolean done, String now,
+                                               Map<String, String> names, Map<String, AttributeValue> values) {
+        names.put("#done", "done");
+        names.put("#version", "version");
+        names.put("#updatedAt", "updatedAt");
+
+        values.put(":done", AttributeValue.builder().bool(done).build());
+        values.put(":zero", AttributeValue.builder().n("0").build());
+        values.put(":one", AttributeValue.builder().n("1").build());
+        values.put(":now", AttributeValue.builder().s(now).build());
+
+        String expression = "SET #done = :done, #version = if_not_exists(#version, :zero) + :one, #updatedAt = :now";
+        if (description != null) {
+            expression += ", #description = :description";
+            names.put("#description", "description");
+            values.put(":description", AttributeValue.builder().s(description).build());
+        }
+        return expression;
+    }
+
+    /**
+     * Executa uma TransactWriteItems. Cancelamentos sem falha de condição (conflito com outra transação, throttling)
+     * são repetidos com backoff.
+     * @return null se a transação foi aplicada, ou o cancelamento causado pela condição de alguma operação.
+     * @throws TransactionCanceledException Se ela continuar sendo cancelada sem falha de condição após as tentativas.
+     */
+    private TransactionCanceledException transact(List<TransactWriteItem> writes) {
+        TransactWriteItemsRequest request = TransactWriteItemsRequest.builder().transactItems(writes).build();
+        for (int attempt = 0; ; attempt++) {
+            try {
+                client.transactWriteItems(request);
+                return null;
+            } catch (TransactionCanceledException e) {
+                boolean conditionFailed = e.hasCancellationReasons()
+                        && e.cancellationReasons().stream().anyMatch(reason -> "ConditionalCheckFailed".equals(reason.code()));
+                if (conditionFailed) {
+                    return e;
+                }
+                if (attempt + 1 >= MAX_ATTEMPTS || !Backoff.sleep(attempt)) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    // Delete de um item condicionado ao estado lido antes: ele ainda existe e o "done" continua o mesmo
+    private Delete conditionalDelete(String pk, String sk, boolean done) {
+        return Delete.builder()
+                .tableName(table.tableName())
+                .key(keyOf(pk, sk))
+                .conditionExpression(done ? "#done = :done" : "attribute_exists(pk) AND (attribute_not_exists(#done) OR #done = :done)")
+                .expressionAttributeNames(Map.of("#done", "done"))
+                .expressionAttributeValues(Map.of(":done", AttributeValue.builder().bool(done).build()))
+                .build();
+    }
+
+    // Update do cabeçalho de uma lista: soma os deltas aos contadores (ADD cria o atributo se ele ainda não existir)
+    private Update counterUpdate(String pkList, String skList, long itemDelta, long doneDelta) {
+        return Update.builder()
+                .tableName(table.tableName())
+                .key(keyOf(pkList, skList))
+                .updateExpression("ADD #itemCount :items, #doneCount :done SET #updatedAt = :now")
+                .conditionExpression("attribute_exists(pk)")
+                .expressionAttributeNames(Map.of("#itemCount", "itemCount", "#doneCount", "doneCount", "#updatedAt", "updatedAt"))
+                .expressionAttributeValues(Map.of(
+                        ":items", AttributeValue.builder().n(Long.toString(itemDelta)).build(),
+                        ":done", AttributeValue.builder().n(Long.toString(doneDelta)).build(),
+                        ":now", AttributeValue.builder().s(Timestamps.now()).build()))
+                .build();
+    }
+
+    // Se a operação de índice informado da transação foi cancelada pela sua condição
+    private static boolean conditionFailed(TransactionCanceledException e, int index) {
+        return e.hasCancellationReasons() && e.cancellationReasons().size() > index
+                && "ConditionalCheckFailed".equals(e.cancellationReasons().get(index).code());
+    }
+
+    // Identificador de um item a partir do seu pk/sk, para casar as respostas com as chaves pedidas
+    private static String idOf(Map<String, AttributeValue> item) {
+        return item.get("pk").s() + '\u0000' + item.get("sk").s();
+    }
+
+    // ProjectionExpression com um nome substituto por atributo, para não colidir com palavras reservadas do DynamoDB
+    private static void applyProjection(List<String> fields, Consumer<String> expression, Consumer<Map<String, String>> names) {
+        StringJoiner projection = new StringJoiner(", ");
+        Map<String, String> placeholders = new HashMap<>();
+        for (int i = 0; i < fields.size(); i++) {
+            projection.add("#p" + i);
+            placeholders.put("#p" + i, fields.get(i));
+        }
+        expression.accept(projection.toString());
+        names.accept(placeholders);
+    }
+
+    private static Map<String, AttributeValue> keyOf(String pk, String sk) {
+        Map<String, AttributeValue> key = new HashMap<>();
+        key.put("pk", AttributeValue.builder().s(pk).build());
+        key.put("sk", AttributeValue.builder().s(sk).build());
+        return key;
+    }
 }
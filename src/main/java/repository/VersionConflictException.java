@@ -0,0 +1,11 @@
+package repository;
+
+/**
+ * Lançada quando a versão informada pelo cliente não é mais a versão atual do item,
+ * ou seja, outro escritor atualizou o item antes.
+ */
+public class VersionConflictException extends RuntimeException {
+    public VersionConflictException(String message) {
+        super(message);
+    }
+}
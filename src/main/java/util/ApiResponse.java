@@ -0,0 +1,50 @@
+package util;
+
+import java.util.List;
+
+/**
+ * Envelope tipado das respostas paginadas da API: os dados da página e as informações de paginação.
+ * Respostas de erro continuam no formato {"erro": "..."} (ver ApiResponseBuilder.createErrorResponse).
+ */
+public class ApiResponse<T> {
+    private final T data;
+    private final PageInfo pagination;
+
+    private ApiResponse(T data, PageInfo pagination) {
+        this.data = data;
+        this.pagination = pagination;
+    }
+
+    public static <T> ApiResponse<List<T>> page(List<T> items, String nextToken, int limit) {
+        return new ApiResponse<>(items, new PageInfo(nextToken, limit));
+    }
+
+    public T getData() {
+        return data;
+    }
+
+    public PageInfo getPagination() {
+        return pagination;
+    }
+
+    /**
+     * Token da próxima página (ausente na última) e o limite usado na consulta.
+     */
+    public static class PageInfo {
+        private final String nextToken;
+        private final int limit;
+
+        public PageInfo(String nextToken, int limit) {
+            this.nextToken = nextToken;
+            this.limit = limit;
+        }
+
+        public String getNextToken() {
+            return nextToken;
+        }
+
+        public int getLimit() {
+            return limit;
+        }
+    }
+}
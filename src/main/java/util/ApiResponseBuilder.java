@@ -6,31 +6,52 @@ import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 
 /**
  * Classe utilitária para construir respostas padronizadas para o API Gateway.
  * Facilita a criação de respostas de sucesso e erro em formato JSON.
+ * O corpo é serializado uma única vez, direto em um buffer reaproveitado entre as invocações.
  */
 public class ApiResponseBuilder {
     // Instância do Gson para serialização de objetos para JSON, com HTML escaping desabilitado.
     private static final Gson gson = new GsonBuilder().disableHtmlEscaping().create();
 
+    // Cabeçalhos iguais em todas as respostas; o mapa é imutável e compartilhado.
+    private static final Map<String, String> JSON_HEADERS = Collections.singletonMap("Content-Type", "application/json");
+
+    private static final int INITIAL_BUFFER_SIZE = 4 * 1024;
+    // Buffers que cresceram além disso (respostas muito grandes) são descartados para não reter memória.
+    private static final int MAX_RETAINED_BUFFER_SIZE = 256 * 1024;
+
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(INITIAL_BUFFER_SIZE));
+
 
 //    Construtor privado para impedir a instanciação da classe utilitária.
     private ApiResponseBuilder(){}
 
     /**
      * Cria uma resposta de sucesso HTTP com um corpo (body) e status code definidos.
+     * O objeto deve ser passado sem serialização prévia; ele é convertido para JSON aqui.
      * @param statusCode O código de status HTTP da resposta.
      * @param body O objeto a ser serializado como corpo da resposta JSON.
      * @return Um objeto APIGatewayProxyResponseEvent configurado para sucesso.
      */
     public static APIGatewayProxyResponseEvent createSuccessResponse(int statusCode, Object body) {
-        return new APIGatewayProxyResponseEvent()
-                .withStatusCode(statusCode)
-                .withHeaders(Collections.singletonMap("Content-Type", "application/json"))
-                .withBody(gson.toJson(body));
+        return createResponse(statusCode, body);
+    }
+
+    /**
+     * Cria uma resposta paginada no envelope padrão ({"data": [...], "pagination": {...}}).
+     * @param statusCode O código de status HTTP da resposta.
+     * @param items Os itens da página.
+     * @param nextToken O token da próxima página, ou null na última.
+     * @param limit O limite usado na consulta.
+     * @return Um objeto APIGatewayProxyResponseEvent configurado para sucesso.
+     */
+    public static <T> APIGatewayProxyResponseEvent createPagedResponse(int statusCode, List<T> items, String nextToken, int limit) {
+        return createResponse(statusCode, ApiResponse.page(items, nextToken, limit));
     }
 
     /**
@@ -42,9 +63,27 @@ public class ApiResponseBuilder {
     public static APIGatewayProxyResponseEvent createErrorResponse(int statusCode, String errorMessage) {
         Map<String, String> errorPayload = Collections.singletonMap("erro", errorMessage);
 
+        return createResponse(statusCode, errorPayload);
+    }
+
+    private static APIGatewayProxyResponseEvent createResponse(int statusCode, Object body) {
         return new APIGatewayProxyResponseEvent()
                 .withStatusCode(statusCode)
-                .withBody(gson.toJson(errorPayload))
-                .withHeaders(Collections.singletonMap("Content-Type", "application/json"));
+                .withHeaders(JSON_HEADERS)
+                .withBody(toJson(body));
+    }
+
+    // Serializa direto no buffer da thread, sem String intermediária além do corpo final.
+    private static String toJson(Object body) {
+        StringBuilder buffer = BUFFER.get();
+        buffer.setLength(0);
+        try {
+            gson.toJson(body, buffer);
+            return buffer.toString();
+        } finally {
+            if (buffer.capacity() > MAX_RETAINED_BUFFER_SIZE) {
+                BUFFER.set(new StringBuilder(INITIAL_BUFFER_SIZE));
+            }
+        }
     }
-}
\ No newline at end of file
+}
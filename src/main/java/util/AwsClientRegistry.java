@@ -0,0 +1,197 @@
+package util;
+
+import model.Task;
+import model.TaskSchema;
+import repository.CachingTaskRepository;
+import repository.TaskRepository;
+import software.amazon.awssdk.auth.credentials.AwsCredentials;
+import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.ContainerCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.EnvironmentVariableCredentialsProvider;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
+import software.amazon.awssdk.http.SdkHttpClient;
+import software.amazon.awssdk.http.urlconnection.UrlConnectionHttpClient;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+import software.amazon.awssdk.services.ses.SesClient;
+import software.amazon.awssdk.services.sqs.SqsClient;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Registro único (por JVM) dos clientes AWS usados pelas Lambdas.
+ * Os clientes são criados de forma preguiçosa, no primeiro uso, e reaproveitados por todos os handlers.
+ * Região e provedor de credenciais são fixados a partir das variáveis de ambiente da Lambda,
+ * evitando a descoberta pela cadeia padrão do SDK durante o cold start.
+ */
+public final class AwsClientRegistry {
+
+    private static final Lazy<SdkHttpClient> HTTP_CLIENT = new Lazy<>(() -> UrlConnectionHttpClient.builder().build());
+
+    private static final Lazy<RefreshableCredentialsProvider> CREDENTIALS = new Lazy<>(RefreshableCredentialsProvider::new);
+
+    private static final Lazy<DynamoDbClient> DYNAMO_DB = new Lazy<>(() -> DynamoDbClient.builder()
+            .region(region())
+            .credentialsProvider(CREDENTIALS.get())
+            .httpClient(HTTP_CLIENT.get())
+            .build());
+
+    private static final Lazy<DynamoDbEnhancedClient> ENHANCED = new Lazy<>(() -> DynamoDbEnhancedClient.builder()
+            .dynamoDbClient(DYNAMO_DB.get())
+            .build());
+
+    private static final Lazy<DynamoDbTable<Task>> TASK_TABLE = new Lazy<>(() ->
+            ENHANCED.get().table(System.getenv("TASKS_TABLE"), TaskSchema.TABLE_SCHEMA));
+
+    // Com TASK_CACHE_TTL_SECONDS definido, as leituras por chave passam por um cache em memória do container
+    private static final Lazy<TaskRepository> TASK_REPOSITORY = new Lazy<>(() -> {
+        int ttlSeconds = intFromEnv("TASK_CACHE_TTL_SECONDS", 0);
+        if (ttlSeconds <= 0) {
+            return new TaskRepository(TASK_TABLE.get(), DYNAMO_DB.get());
+        }
+        return new CachingTaskRepository(TASK_TABLE.get(), DYNAMO_DB.get(),
+                intFromEnv("TASK_CACHE_MAX_ENTRIES", CachingTaskRepository.DEFAULT_MAX_ENTRIES),
+                Duration.ofSeconds(ttlSeconds),
+                Duration.ofSeconds(intFromEnv("TASK_CACHE_NEGATIVE_TTL_SECONDS", (int) CachingTaskRepository.DEFAULT_NEGATIVE_TTL.toSeconds())));
+    });
+
+    private static final Lazy<S3Client> S3 = new Lazy<>(() -> S3Client.builder()
+            .region(region())
+            .credentialsProvider(CREDENTIALS.get())
+            .httpClient(HTTP_CLIENT.get())
+            .build());
+
+    // Assina localmente (sem chamadas de rede) os links de download das exportações grandes
+    private static final Lazy<S3Presigner> S3_PRESIGNER = new Lazy<>(() -> S3Presigner.builder()
+            .region(region())
+            .credentialsProvider(CREDENTIALS.get())
+            .build());
+
+    private static final Lazy<SesClient> SES = new Lazy<>(() -> SesClient.builder()
+            .region(region())
+            .credentialsProvider(CREDENTIALS.get())
+            .httpClient(HTTP_CLIENT.get())
+            .build());
+
+    private static final Lazy<SqsClient> SQS = new Lazy<>(() -> SqsClient.builder()
+            .region(region())
+            .credentialsProvider(CREDENTIALS.get())
+            .httpClient(HTTP_CLIENT.get())
+            .build());
+
+    // Construtor privado para impedir a instanciação da classe utilitária.
+    private AwsClientRegistry() {}
+
+    public static DynamoDbClient dynamoDb() {
+        return DYNAMO_DB.get();
+    }
+
+    public static DynamoDbEnhancedClient enhanced() {
+        return ENHANCED.get();
+    }
+
+    /**
+     * Handle compartilhado da tabela de tarefas (variável de ambiente TASKS_TABLE).
+     * @return A tabela mapeada para a classe Task.
+     */
+    public static DynamoDbTable<Task> taskTable() {
+        return TASK_TABLE.get();
+    }
+
+    public static TaskRepository taskRepository() {
+        return TASK_REPOSITORY.get();
+    }
+
+    public static S3Client s3() {
+        return S3.get();
+    }
+
+    public static S3Presigner s3Presigner() {
+        return S3_PRESIGNER.get();
+    }
+
+    public static SesClient ses() {
+        return SES.get();
+    }
+
+    public static SqsClient sqs() {
+        return SQS.get();
+    }
+
+    /**
+     * Troca o provedor de credenciais pinado por um novo, sem recriar os clientes já entregues aos handlers.
+     * Usado após a restauração de um snapshot (SnapStart), quando as credenciais capturadas não valem mais.
+     */
+    public static void refreshCredentials() {
+        CREDENTIALS.get().refresh();
+    }
+
+    // A Lambda sempre define AWS_REGION; o fallback existe apenas para execuções locais.
+    private static Region region() {
+        String region = System.getenv("AWS_REGION");
+        return Region.of(region != null && !region.isBlank() ? region : "us-east-1");
+    }
+
+    private static int intFromEnv(String name, int defaultValue) {
+        String value = System.getenv(name);
+        try {
+            return value != null ? Integer.parseInt(value.trim()) : defaultValue;
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    // Na Lambda as credenciais vêm das variáveis de ambiente; com SnapStart elas são servidas pelo endpoint do container.
+    private static AwsCredentialsProvider createCredentialsProvider() {
+        if (System.getenv("AWS_CONTAINER_CREDENTIALS_FULL_URI") != null) {
+            return ContainerCredentialsProvider.builder().build();
+        }
+        return EnvironmentVariableCredentialsProvider.create();
+    }
+
+    /**
+     * Provedor que delega para o provedor pinado e permite substituí-lo depois de um restore.
+     */
+    private static final class RefreshableCredentialsProvider implements AwsCredentialsProvider {
+        private volatile AwsCredentialsProvider delegate = createCredentialsProvider();
+
+        @Override
+        public AwsCredentials resolveCredentials() {
+            return delegate.resolveCredentials();
+        }
+
+        void refresh() {
+            delegate = createCredentialsProvider();
+        }
+    }
+
+    /**
+     * Valor inicializado apenas no primeiro acesso, de forma thread-safe.
+     */
+    private static final class Lazy<T> {
+        private final Supplier<T> factory;
+        private volatile T value;
+
+        Lazy(Supplier<T> factory) {
+            this.factory = factory;
+        }
+
+        T get() {
+            T result = value;
+            if (result == null) {
+                synchronized (this) {
+                    result = value;
+                    if (result == null) {
+                        result = factory.get();
+                        value = result;
+                    }
+                }
+            }
+            return result;
+        }
+    }
+}
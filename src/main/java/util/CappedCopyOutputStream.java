@@ -0,0 +1,61 @@
+package util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Repassa tudo para o stream de destino e guarda uma cópia apenas enquanto ela couber no limite.
+ * Usado para anexar o relatório ao e-mail sem manter arquivos grandes inteiros em memória.
+ */
+public class CappedCopyOutputStream extends FilterOutputStream {
+
+    private final int maxCopyBytes;
+    private ByteArrayOutputStream copy = new ByteArrayOutputStream();
+    private boolean truncated;
+
+    public CappedCopyOutputStream(OutputStream target, int maxCopyBytes) {
+        super(target);
+        this.maxCopyBytes = maxCopyBytes;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        out.write(b);
+        if (fits(1)) {
+            copy.write(b);
+        }
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        out.write(b, off, len);
+        if (fits(len)) {
+            copy.write(b, off, len);
+        }
+    }
+
+    // Ao passar do limite a cópia é descartada de uma vez, liberando a memória
+    private boolean fits(int len) {
+        if (!truncated && copy.size() + len > maxCopyBytes) {
+            truncated = true;
+            copy = null;
+        }
+        return !truncated;
+    }
+
+    /**
+     * @return true se o conteúdo passou do limite e a cópia não está disponível.
+     */
+    public boolean isTruncated() {
+        return truncated;
+    }
+
+    /**
+     * @return A cópia completa do conteúdo escrito, ou null se ele passou do limite.
+     */
+    public byte[] toByteArray() {
+        return truncated ? null : copy.toByteArray();
+    }
+}
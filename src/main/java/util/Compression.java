@@ -0,0 +1,73 @@
+package util;
+
+import com.github.luben.zstd.ZstdOutputStream;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Compressões aceitas para os arquivos exportados.
+ * Cada uma sabe embrulhar o stream de saída e informa o Content-Encoding, a extensão e o tipo do anexo comprimido.
+ */
+public enum Compression {
+    NONE(null, "", null),
+    GZIP("gzip", ".gz", "application/gzip"),
+    ZSTD("zstd", ".zst", "application/zstd");
+
+    // Buffer interno do GZIPOutputStream; o padrão de 512 bytes gera chamadas demais ao stream de destino
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+
+    private final String contentEncoding;
+    private final String extension;
+    private final String attachmentType;
+
+    Compression(String contentEncoding, String extension, String attachmentType) {
+        this.contentEncoding = contentEncoding;
+        this.extension = extension;
+        this.attachmentType = attachmentType;
+    }
+
+    /**
+     * Converte o parâmetro da requisição ("gzip", "zstd" ou vazio) na compressão correspondente.
+     * @param value O valor informado pelo cliente; null ou vazio significa sem compressão.
+     * @return A compressão escolhida.
+     * @throws IllegalArgumentException Se o valor não for uma compressão suportada.
+     */
+    public static Compression fromParam(String value) {
+        if (value == null || value.isBlank()) {
+            return NONE;
+        }
+        return switch (value.trim().toLowerCase(Locale.ROOT)) {
+            case "none" -> NONE;
+            case "gzip" -> GZIP;
+            case "zstd" -> ZSTD;
+            default -> throw new IllegalArgumentException("Compressão não suportada: " + value);
+        };
+    }
+
+    /**
+     * Embrulha o stream de destino; fechar o stream devolvido finaliza a compressão e fecha o destino.
+     */
+    public OutputStream wrap(OutputStream out) throws IOException {
+        return switch (this) {
+            case NONE -> out;
+            case GZIP -> new GZIPOutputStream(out, GZIP_BUFFER_SIZE);
+            case ZSTD -> new ZstdOutputStream(out);
+        };
+    }
+
+    public String getContentEncoding() {
+        return contentEncoding;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    // Tipo do anexo comprimido; sem compressão (null) vale o Content-Type do próprio formato
+    public String getAttachmentType() {
+        return attachmentType;
+    }
+}
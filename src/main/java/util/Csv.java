@@ -1,12 +1,19 @@
 package util;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
 import com.fasterxml.jackson.dataformat.csv.CsvMapper;
 import com.fasterxml.jackson.dataformat.csv.CsvSchema;
 import com.fasterxml.jackson.dataformat.csv.CsvGenerator;
 import model.Task;
+import util.format.AccountRow;
+import util.format.ExportColumns;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
 import java.util.List;
 
 /**
@@ -14,6 +21,10 @@ import java.util.List;
  */
 public class Csv {
 
+    // Writer pronto para o streaming; o stream de destino não é fechado pelo Jackson, quem abriu é quem fecha.
+    private static final ObjectWriter STREAMING_WRITER = createStreamingWriter(ExportColumns.csvSchema());
+    private static final ObjectWriter ACCOUNT_WRITER = createStreamingWriter(ExportColumns.accountCsvSchema());
+
     /**
      * Gera um array de bytes representando um arquivo CSV a partir de uma lista de tarefas.
      * @param tasks A lista de objetos Task a ser convertida.
@@ -21,16 +32,56 @@ public class Csv {
      * @throws JsonProcessingException Se ocorrer um erro durante a serialização.
      */
     public static byte[] generateCsv(List<Task> tasks) throws JsonProcessingException {
-        CsvMapper csvMapper = new CsvMapper();
+        // As colunas e a ordem delas vêm de ExportColumns
+        CsvMapper csvMapper = ExportColumns.applyTo(new CsvMapper());
         // Configura o CsvMapper para sempre colocar aspas em todos os campos.
         csvMapper.configure(CsvGenerator.Feature.ALWAYS_QUOTE_STRINGS, true);
 
-        // Define o esquema do CSV com base na classe Task, incluindo um cabeçalho.
-        CsvSchema schema = csvMapper.schemaFor(Task.class).withHeader();
+        // Define o esquema do CSV com as colunas da exportação, incluindo um cabeçalho.
+        CsvSchema schema = ExportColumns.csvSchema();
         ObjectWriter writer = csvMapper.writer(schema);
         String csvString = writer.writeValueAsString(tasks);
 
         // Converte a string CSV para bytes usando o padrão UTF-8.
         return csvString.getBytes(java.nio.charset.StandardCharsets.UTF_8);
     }
-}
\ No newline at end of file
+
+    /**
+     * Escreve as tarefas como CSV direto no stream, uma linha por vez, sem montar o arquivo em memória.
+     * @param tasks As tarefas, consumidas uma única vez (pode ser um iterator paginado sob demanda).
+     * @param out O stream de destino; não é fechado aqui.
+     * @return A quantidade de linhas escritas (sem contar o cabeçalho).
+     * @throws IOException Se ocorrer um erro durante a escrita.
+     */
+    public static long writeCsv(Iterator<Task> tasks, OutputStream out) throws IOException {
+        return write(STREAMING_WRITER, tasks, out);
+    }
+
+    /**
+     * Escreve as linhas da exportação da conta como CSV, com a coluna listId antes das colunas da tarefa.
+     * @param rows As linhas, consumidas uma única vez.
+     * @param out O stream de destino; não é fechado aqui.
+     * @return A quantidade de linhas escritas (sem contar o cabeçalho).
+     * @throws IOException Se ocorrer um erro durante a escrita.
+     */
+    public static long writeAccountCsv(Iterator<AccountRow> rows, OutputStream out) throws IOException {
+        return write(ACCOUNT_WRITER, rows, out);
+    }
+
+    private static long write(ObjectWriter writer, Iterator<?> values, OutputStream out) throws IOException {
+        long rows = 0;
+        try (SequenceWriter sequence = writer.writeValues(out)) {
+            while (values.hasNext()) {
+                sequence.write(values.next());
+                rows++;
+            }
+        }
+        return rows;
+    }
+
+    private static ObjectWriter createStreamingWriter(CsvSchema schema) {
+        CsvMapper csvMapper = ExportColumns.applyTo(new CsvMapper());
+        csvMapper.configure(CsvGenerator.Feature.ALWAYS_QUOTE_STRINGS, true);
+        return csvMapper.writer(schema).without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+}
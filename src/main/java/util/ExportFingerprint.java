@@ -0,0 +1,187 @@
+package util;
+
+import model.Task;
+import model.TaskSchema;
+import software.amazon.awssdk.core.SdkBytes;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Impressão digital (SHA-256) do conteúdo de uma lista, usada para reaproveitar exportações já geradas.
+ * Entram no hash só as chaves, a versão e o updatedAt de cada item ({@link #FIELDS}): toda escrita de item
+ * incrementa a versão e o updatedAt (as de contadores do cabeçalho mudam o updatedAt), e criações e remoções
+ * mudam o conjunto de chaves. Por isso a impressão pode ser calculada com uma consulta só dessas colunas,
+ * antes de gerar qualquer arquivo, e conferida depois sobre os itens completos que foram escritos.
+ */
+public final class ExportFingerprint {
+
+    // Atributos lidos pela consulta da impressão digital (ProjectionExpression)
+    public static final List<String> FIELDS = List.of("pk", "sk", "version", "updatedAt");
+
+    private final String hash;
+    private final long itemCount;
+
+    private ExportFingerprint(String hash, long itemCount) {
+        this.hash = hash;
+        this.itemCount = itemCount;
+    }
+
+    /**
+     * Calcula a impressão digital dos itens de um pk, consumindo o iterator.
+     * @param pk O pk exportado.
+     * @param tasks Os itens, na ordem da consulta (ordenados pelo sk).
+     * @return A impressão digital e a quantidade de itens lidos.
+     */
+    public static ExportFingerprint of(String pk, Iterator<Task> tasks) {
+        Hasher hasher = hashing(pk, tasks);
+        while (hasher.hasNext()) {
+            hasher.next();
+        }
+        return hasher.finish();
+    }
+
+    /**
+     * Repassa os itens como vieram e vai calculando a impressão digital de cada um que é entregue.
+     * @param pk O pk exportado.
+     * @param tasks Os itens, na ordem da consulta (ordenados pelo sk).
+     * @return O iterator que calcula o hash; a impressão digital sai de {@link Hasher#finish()} depois de consumido.
+     */
+    public static Hasher hashing(String pk, Iterator<Task> tasks) {
+        return new Hasher(pk, tasks);
+    }
+
+    public String getHash() {
+        return hash;
+    }
+
+    public long getItemCount() {
+        return itemCount;
+    }
+
+    public static final class Hasher implements Iterator<Task> {
+        private final Iterator<Task> tasks;
+        private final MessageDigest digest = sha256();
+        private long count;
+
+        private Hasher(String pk, Iterator<Task> tasks) {
+            this.tasks = tasks;
+            update(digest, pk);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return tasks.hasNext();
+        }
+
+        @Override
+        public Task next() {
+            Task task = tasks.next();
+            // Só os atributos da impressão, em ordem fixa: o item pode vir completo ou projetado
+            Map<String, AttributeValue> item = TaskSchema.TABLE_SCHEMA.itemToMap(task, FIELDS);
+            for (String field : FIELDS) {
+                AttributeValue value = item.get(field);
+                update(digest, field);
+                if (value == null || Boolean.TRUE.equals(value.nul())) {
+                    digest.update((byte) 0);
+                } else {
+                    digest.update((byte) 1);
+                    update(digest, value);
+                }
+            }
+            digest.update((byte) '\n');
+            count++;
+            return task;
+        }
+
+        /**
+         * @return A impressão digital dos itens entregues até aqui (o iterator deve ter sido consumido por inteiro).
+         */
+        public ExportFingerprint finish() {
+            return new ExportFingerprint(HexFormat.of().formatHex(digest.digest()), count);
+        }
+    }
+
+    // Cada valor entra com o seu tipo e o conteúdo desse tipo; conjuntos são ordenados, porque não têm ordem no DynamoDB
+    private static void update(MessageDigest digest, AttributeValue value) {
+        AttributeValue.Type type = value.type();
+        if (type == null || type == AttributeValue.Type.UNKNOWN_TO_SDK_VERSION) {
+            throw new IllegalArgumentException("Tipo de atributo não suportado na impressão digital: " + value);
+        }
+        update(digest, type.name());
+        switch (type) {
+            case S -> update(digest, value.s());
+            case N -> update(digest, value.n());
+            case B -> update(digest, value.b());
+            case BOOL -> digest.update((byte) (value.bool() ? 1 : 0));
+            case NUL -> digest.update((byte) 0);
+            case SS -> updateStrings(digest, value.ss());
+            case NS -> updateStrings(digest, value.ns());
+            case BS -> {
+                List<SdkBytes> sorted = new ArrayList<>(value.bs());
+                sorted.sort(Comparator.comparing(SdkBytes::asByteArrayUnsafe, Arrays::compareUnsigned));
+                updateLength(digest, sorted.size());
+                sorted.forEach(bytes -> update(digest, bytes));
+            }
+            case L -> {
+                updateLength(digest, value.l().size());
+                value.l().forEach(element -> update(digest, element));
+            }
+            case M -> {
+                Map<String, AttributeValue> sorted = new TreeMap<>(value.m());
+                updateLength(digest, sorted.size());
+                sorted.forEach((name, element) -> {
+                    update(digest, name);
+                    update(digest, element);
+                });
+            }
+            default -> throw new IllegalArgumentException("Tipo de atributo não suportado na impressão digital: " + type);
+        }
+    }
+
+    private static void updateStrings(MessageDigest digest, List<String> values) {
+        List<String> sorted = new ArrayList<>(values);
+        sorted.sort(null);
+        updateLength(digest, sorted.size());
+        sorted.forEach(value -> update(digest, value));
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        update(digest, value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void update(MessageDigest digest, SdkBytes value) {
+        update(digest, value.asByteArrayUnsafe());
+    }
+
+    // Prefixa o tamanho para que valores diferentes nunca produzam a mesma sequência de bytes
+    private static void update(MessageDigest digest, byte[] bytes) {
+        updateLength(digest, bytes.length);
+        digest.update(bytes);
+    }
+
+    private static void updateLength(MessageDigest digest, int length) {
+        digest.update((byte) (length >>> 24));
+        digest.update((byte) (length >>> 16));
+        digest.update((byte) (length >>> 8));
+        digest.update((byte) length);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 não disponível", e);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package util;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+
+/**
+ * Classe utilitária para ler campos opcionais do corpo JSON das requisições já com o tipo validado.
+ * Um campo ausente ou null vira null; um campo com o tipo errado vira IllegalArgumentException (400),
+ * em vez de ser convertido silenciosamente pelo Gson ou estourar como erro interno.
+ */
+public class JsonBody {
+
+    // Construtor privado para impedir a instanciação da classe utilitária.
+    private JsonBody() {}
+
+    /**
+     * @return O texto do campo, ou null se ele não vier.
+     * @throws IllegalArgumentException Se o campo não for um texto.
+     */
+    public static String optionalString(JsonObject body, String name) {
+        JsonPrimitive value = primitive(body, name);
+        if (value == null) {
+            return null;
+        }
+        if (!value.isString()) {
+            throw new IllegalArgumentException("Campo '" + name + "' deve ser um texto.");
+        }
+        return value.getAsString();
+    }
+
+    /**
+     * @return O valor do campo, ou null se ele não vier.
+     * @throws IllegalArgumentException Se o campo não for true ou false.
+     */
+    public static Boolean optionalBoolean(JsonObject body, String name) {
+        JsonPrimitive value = primitive(body, name);
+        if (value == null) {
+            return null;
+        }
+        if (!value.isBoolean()) {
+            throw new IllegalArgumentException("Campo '" + name + "' deve ser true ou false.");
+        }
+        return value.getAsBoolean();
+    }
+
+    /**
+     * Aceita número inteiro ou texto com um número inteiro (ex.: 3 ou "3"); frações e outros tipos são recusados.
+     * @return O valor do campo, ou null se ele não vier.
+     * @throws IllegalArgumentException Se o campo não for um número inteiro.
+     */
+    public static Long optionalLong(JsonObject body, String name) {
+        JsonPrimitive value = primitive(body, name);
+        if (value == null) {
+            return null;
+        }
+        if (!value.isNumber() && !value.isString()) {
+            throw new IllegalArgumentException("Campo '" + name + "' inválido.");
+        }
+        try {
+            return Long.parseLong(value.getAsString().trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Campo '" + name + "' inválido.");
+        }
+    }
+
+    // O campo como valor simples; null se ausente ou null; objetos e arrays são recusados
+    private static JsonPrimitive primitive(JsonObject body, String name) {
+        JsonElement element = body.get(name);
+        if (element == null || element.isJsonNull()) {
+            return null;
+        }
+        if (!element.isJsonPrimitive()) {
+            throw new IllegalArgumentException("Campo '" + name + "' inválido.");
+        }
+        return element.getAsJsonPrimitive();
+    }
+}
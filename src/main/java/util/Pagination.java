@@ -0,0 +1,107 @@
+package util;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.gson.reflect.TypeToken;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Classe utilitária para paginação por cursor.
+ * O 'nextToken' devolvido aos clientes é o LastEvaluatedKey do DynamoDB serializado em JSON e codificado em Base64 (URL-safe),
+ * opaco para quem consome a API.
+ */
+public class Pagination {
+
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 100;
+
+    private static final Gson gson = new Gson();
+    private static final Type KEY_TYPE = new TypeToken<Map<String, String>>() {}.getType();
+
+    // As consultas paginadas são todas na tabela pelo pk, então o LastEvaluatedKey tem só as chaves da tabela
+    private static final String PK = "pk";
+    private static final String SK = "sk";
+    private static final Set<String> TOKEN_KEYS = Set.of(PK, SK);
+    private static final String INVALID_TOKEN = "Parâmetro 'nextToken' inválido";
+
+    // Construtor privado para impedir a instanciação da classe utilitária.
+    private Pagination() {}
+
+    /**
+     * Converte o parâmetro 'limit' da requisição, aplicando o padrão e o teto.
+     * @param limit O valor recebido na query string (pode ser nulo).
+     * @return O limite a ser usado na consulta.
+     * @throws IllegalArgumentException Se o valor não for um inteiro positivo.
+     */
+    public static int parseLimit(String limit) {
+        if (limit == null || limit.isBlank()) {
+            return DEFAULT_LIMIT;
+        }
+        try {
+            int value = Integer.parseInt(limit.trim());
+            if (value <= 0) {
+                throw new IllegalArgumentException("Parâmetro 'limit' deve ser maior que zero");
+            }
+            return Math.min(value, MAX_LIMIT);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Parâmetro 'limit' deve ser um número inteiro");
+        }
+    }
+
+    /**
+     * Codifica o LastEvaluatedKey de uma página como token opaco.
+     * @param lastEvaluatedKey A chave devolvida pelo DynamoDB (nula na última página).
+     * @return O token, ou null se não houver próxima página.
+     */
+    public static String encodeToken(Map<String, AttributeValue> lastEvaluatedKey) {
+        if (lastEvaluatedKey == null || lastEvaluatedKey.isEmpty()) {
+            return null;
+        }
+        Map<String, String> key = new HashMap<>();
+        lastEvaluatedKey.forEach((name, value) -> key.put(name, value.s()));
+
+        byte[] json = gson.toJson(key).getBytes(StandardCharsets.UTF_8);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(json);
+    }
+
+    /**
+     * Decodifica um token recebido do cliente de volta para o ExclusiveStartKey de uma consulta pelo pk.
+     * O token precisa ter exatamente as chaves da tabela (pk e sk) e ser da mesma partição consultada:
+     * um token de outra consulta, ou montado à mão, é recusado em vez de ser repassado ao DynamoDB.
+     * @param token O token recebido na query string (pode ser nulo).
+     * @param pk O pk consultado nesta requisição.
+     * @return A chave de início da próxima consulta, ou null se não houver token.
+     * @throws IllegalArgumentException Se o token for inválido ou de outro pk.
+     */
+    public static Map<String, AttributeValue> decodeToken(String token, String pk) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        Map<String, String> key;
+        try {
+            String json = new String(Base64.getUrlDecoder().decode(token.trim()), StandardCharsets.UTF_8);
+            key = gson.fromJson(json, KEY_TYPE);
+        } catch (JsonParseException | IllegalArgumentException e) {
+            throw new IllegalArgumentException(INVALID_TOKEN);
+        }
+        if (key == null || !TOKEN_KEYS.equals(key.keySet())
+                || isBlank(key.get(PK)) || isBlank(key.get(SK)) || !key.get(PK).equals(pk)) {
+            throw new IllegalArgumentException(INVALID_TOKEN);
+        }
+
+        Map<String, AttributeValue> startKey = new HashMap<>();
+        key.forEach((name, value) -> startKey.put(name, AttributeValue.builder().s(value).build()));
+        return startKey;
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+}
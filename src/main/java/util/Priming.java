@@ -0,0 +1,127 @@
+package util;
+
+import com.amazonaws.services.lambda.runtime.LambdaRuntime;
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import model.Task;
+import org.crac.Context;
+import org.crac.Core;
+import org.crac.Resource;
+import repository.CachingTaskRepository;
+import repository.TaskRepository;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Priming para o SnapStart (CRaC).
+ * Antes do checkpoint exercita o caminho real das requisições (schema do Task, Gson, Jackson e a conexão
+ * TLS com o DynamoDB), para que reflexão e carregamento de classes fiquem dentro do snapshot.
+ * Depois do restore renova as credenciais e reabre a conexão com o DynamoDB.
+ */
+public final class Priming implements Resource {
+
+    // Chave que nunca existe na tabela; só serve para abrir a conexão e passar pelo mapeamento.
+    private static final String PRIMING_KEY = "PRIMING#";
+
+    // O CRaC mantém apenas uma referência fraca ao recurso, por isso a instância fica estática.
+    private static final Priming INSTANCE = new Priming();
+    private static final AtomicBoolean REGISTERED = new AtomicBoolean(false);
+
+    // Instâncias de Gson dos handlers: cada uma tem o seu próprio cache de adapters, que precisa entrar no snapshot
+    private static final List<Gson> HANDLER_GSONS = new CopyOnWriteArrayList<>();
+
+    private Priming() {}
+
+    /**
+     * Registra o recurso de priming no contexto global do CRaC, uma única vez por JVM.
+     */
+    public static void register() {
+        if (REGISTERED.compareAndSet(false, true)) {
+            Core.getGlobalContext().register(INSTANCE);
+        }
+    }
+
+    /**
+     * Registra o recurso de priming e o Gson usado pelo handler, para que o priming aqueça essa mesma instância.
+     */
+    public static void register(Gson handlerGson) {
+        HANDLER_GSONS.add(handlerGson);
+        register();
+    }
+
+    @Override
+    public void beforeCheckpoint(Context<? extends Resource> context) {
+        primeSerialization();
+        primeDynamoDb();
+        clearRepositoryCache();
+    }
+
+    @Override
+    public void afterRestore(Context<? extends Resource> context) {
+        AwsClientRegistry.refreshCredentials();
+        primeDynamoDb();
+    }
+
+    private static void primeSerialization() {
+        Task sample = new Task(PRIMING_KEY, PRIMING_KEY, "priming");
+
+        for (Gson gson : HANDLER_GSONS) {
+            gson.fromJson(gson.toJson(sample), Task.class);
+            gson.fromJson("{\"description\":\"priming\"}", JsonObject.class);
+        }
+
+        ApiResponseBuilder.createSuccessResponse(200, List.of(sample));
+        ApiResponseBuilder.createErrorResponse(400, "priming");
+
+        try {
+            Csv.generateCsv(List.of(sample));
+            Csv.writeCsv(List.of(sample).iterator(), OutputStream.nullOutputStream());
+        } catch (IOException e) {
+            LambdaRuntime.getLogger().log("Priming do Jackson falhou: " + e.getMessage());
+        }
+
+        try {
+            RawEmailBuilder.message("priming@example.com", "priming@example.com", "priming")
+                    .text("priming")
+                    .attachment("priming.csv", "text/csv", new byte[64])
+                    .build();
+        } catch (Exception e) {
+            LambdaRuntime.getLogger().log("Priming do e-mail falhou: " + e.getMessage());
+        }
+    }
+
+    // O snapshot pode ser restaurado muito depois; o cache de leituras começa vazio em cada restore
+    private static void clearRepositoryCache() {
+        String tableName = System.getenv("TASKS_TABLE");
+        if (tableName != null && !tableName.isBlank()
+                && AwsClientRegistry.taskRepository() instanceof CachingTaskRepository cache) {
+            cache.invalidateAll();
+        }
+    }
+
+    private static void primeDynamoDb() {
+        String tableName = System.getenv("TASKS_TABLE");
+        if (tableName == null || tableName.isBlank()) {
+            return;
+        }
+
+        DynamoDbTable<Task> table = AwsClientRegistry.taskTable();
+        TableSchema<Task> schema = table.tableSchema();
+        schema.mapToItem(schema.itemToMap(new Task(PRIMING_KEY, PRIMING_KEY, "priming"), true));
+
+        // Mesmo sem permissão de leitura (ex.: ExportRequest), a chamada já abre a conexão TLS com o endpoint.
+        try {
+            TaskRepository repository = AwsClientRegistry.taskRepository();
+            repository.getTask(PRIMING_KEY, PRIMING_KEY);
+            repository.getTasksByPk(PRIMING_KEY);
+        } catch (Exception e) {
+            LambdaRuntime.getLogger().log("Priming do DynamoDB falhou: " + e.getMessage());
+        }
+    }
+}
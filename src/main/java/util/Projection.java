@@ -0,0 +1,48 @@
+package util;
+
+import model.TaskSchema;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Classe utilitária para o parâmetro 'fields' das consultas.
+ * Os campos pedidos viram a projeção enviada ao DynamoDB, que passa a ler e devolver só esses atributos.
+ */
+public class Projection {
+
+    // pk e sk identificam o item e formam o nextToken da paginação, então sempre fazem parte da projeção
+    private static final List<String> KEY_ATTRIBUTES = List.of("pk", "sk");
+
+    private static final Set<String> KNOWN_ATTRIBUTES = Set.copyOf(TaskSchema.TABLE_SCHEMA.attributeNames());
+
+    // Construtor privado para impedir a instanciação da classe utilitária.
+    private Projection() {}
+
+    /**
+     * Converte o parâmetro 'fields' (lista separada por vírgulas) nos atributos a projetar.
+     * @param fields O valor recebido na query string (pode ser nulo).
+     * @return Os atributos a ler, sempre incluindo pk e sk; ou null se todos os atributos devem ser lidos.
+     * @throws IllegalArgumentException Se algum campo não for um atributo conhecido da tarefa.
+     */
+    public static List<String> parseFields(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return null;
+        }
+
+        Set<String> attributes = new LinkedHashSet<>(KEY_ATTRIBUTES);
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (!KNOWN_ATTRIBUTES.contains(name)) {
+                throw new IllegalArgumentException("Campo desconhecido em 'fields': " + name);
+            }
+            attributes.add(name);
+        }
+        return new ArrayList<>(attributes);
+    }
+}
@@ -0,0 +1,181 @@
+package util;
+
+import jakarta.mail.internet.AddressException;
+import jakarta.mail.internet.ContentType;
+import jakarta.mail.internet.HeaderTokenizer;
+import jakarta.mail.internet.InternetAddress;
+import jakarta.mail.internet.MimeUtility;
+import jakarta.mail.internet.ParseException;
+import software.amazon.awssdk.core.SdkBytes;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.io.UnsupportedEncodingException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Monta a mensagem MIME bruta (texto + anexo opcional) para o SendRawEmail do SES.
+ * Os trechos fixos da mensagem (cabeçalhos MIME, delimitadores e cabeçalhos das partes) são pré-renderizados
+ * uma vez por JVM, e o anexo é codificado em Base64 direto em um único buffer, dimensionado com o tamanho
+ * exato da mensagem, que é entregue ao SES sem cópias intermediárias. Não há Session nem MimeMessage por mensagem.
+ */
+public final class RawEmailBuilder {
+
+    private static final byte[] CRLF = "\r\n".getBytes(StandardCharsets.US_ASCII);
+
+    // "=_" nunca aparece em Base64, então o delimitador não colide com o conteúdo das partes
+    private static final String BOUNDARY = "=_export_part_7f3a9c";
+
+    private static final byte[] MULTIPART_HEADERS = ascii(
+            "MIME-Version: 1.0\r\n" +
+            "Content-Type: multipart/mixed; boundary=\"" + BOUNDARY + "\"\r\n" +
+            "\r\n");
+
+    private static final byte[] TEXT_PART_HEADERS = ascii(
+            "--" + BOUNDARY + "\r\n" +
+            "Content-Type: text/plain; charset=UTF-8\r\n" +
+            "Content-Transfer-Encoding: base64\r\n" +
+            "\r\n");
+
+    private static final byte[] CLOSE_DELIMITER = ascii("\r\n--" + BOUNDARY + "--\r\n");
+
+    // MIME em Base64: linhas de 76 caracteres separadas por CRLF
+    private static final Base64.Encoder MIME_BASE64 = Base64.getMimeEncoder();
+    private static final int LINE_LENGTH = 76;
+
+    // Assunto de todas as mensagens de exportação; a codificação RFC 2047 dele é feita uma vez por JVM
+    public static final String REPORT_SUBJECT = "Seu Relatório de Tarefas está Pronto";
+    private static final String ENCODED_REPORT_SUBJECT = encodeText(REPORT_SUBJECT);
+
+    private final String from;
+    private final String to;
+    private final String subject;
+    private String text = "";
+    private String attachmentName;
+    private ContentType attachmentType;
+    private byte[] attachment;
+
+    private RawEmailBuilder(String from, String to, String subject) {
+        this.from = from;
+        this.to = to;
+        this.subject = subject;
+    }
+
+    public static RawEmailBuilder message(String from, String to, String subject) {
+        return new RawEmailBuilder(from, to, subject);
+    }
+
+    public RawEmailBuilder text(String text) {
+        this.text = text;
+        return this;
+    }
+
+    /**
+     * O array é lido diretamente durante o build(), sem cópia; não deve ser alterado até lá.
+     * @throws IllegalArgumentException Se o contentType não for um tipo MIME válido.
+     */
+    public RawEmailBuilder attachment(String fileName, String contentType, byte[] content) {
+        this.attachmentName = fileName;
+        try {
+            // O tipo é reescrito a partir da forma analisada, então não leva nada além de tipo/subtipo e parâmetros
+            this.attachmentType = new ContentType(contentType);
+        } catch (ParseException e) {
+            throw new IllegalArgumentException("Tipo do anexo inválido: " + contentType, e);
+        }
+        this.attachment = content;
+        return this;
+    }
+
+    /**
+     * Renderiza a mensagem.
+     * @return Os bytes da mensagem, prontos para o RawMessage do SES.
+     * @throws AddressException Se o remetente ou o destinatário não forem endereços válidos.
+     */
+    public SdkBytes build() throws AddressException {
+        // Só os cabeçalhos variáveis são renderizados por mensagem; com eles o tamanho final é conhecido de antemão
+        byte[] headers = ascii("From: " + new InternetAddress(from, true) + "\r\n" +
+                "To: " + new InternetAddress(to, true) + "\r\n" +
+                "Subject: " + (REPORT_SUBJECT.equals(subject) ? ENCODED_REPORT_SUBJECT : encodeText(subject)) + "\r\n");
+        byte[] textBytes = text.getBytes(StandardCharsets.UTF_8);
+        String fileName = attachment == null ? null : encodeParameter(attachmentName);
+        byte[] attachmentHeaders = attachment == null ? new byte[0] : ascii(
+                "\r\n--" + BOUNDARY + "\r\n" +
+                "Content-Type: " + attachmentType + "; name=" + fileName + "\r\n" +
+                "Content-Disposition: attachment; filename=" + fileName + "\r\n" +
+                "Content-Transfer-Encoding: base64\r\n" +
+                "\r\n");
+
+        int size = headers.length + MULTIPART_HEADERS.length + TEXT_PART_HEADERS.length + encodedLength(textBytes.length)
+                + attachmentHeaders.length + (attachment != null ? encodedLength(attachment.length) : 0)
+                + CLOSE_DELIMITER.length;
+        ExposedByteArrayOutputStream out = new ExposedByteArrayOutputStream(size);
+
+        out.write(headers, 0, headers.length);
+        out.write(MULTIPART_HEADERS, 0, MULTIPART_HEADERS.length);
+        out.write(TEXT_PART_HEADERS, 0, TEXT_PART_HEADERS.length);
+        writeBase64(out, textBytes);
+        if (attachment != null) {
+            out.write(attachmentHeaders, 0, attachmentHeaders.length);
+            writeBase64(out, attachment);
+        }
+        out.write(CLOSE_DELIMITER, 0, CLOSE_DELIMITER.length);
+
+        return out.toSdkBytes();
+    }
+
+    // Tamanho exato do Base64 MIME de n bytes, incluindo os CRLF entre as linhas
+    static int encodedLength(int n) {
+        int chars = 4 * ((n + 2) / 3);
+        int lineBreaks = chars > 0 ? (chars - 1) / LINE_LENGTH : 0;
+        return chars + lineBreaks * CRLF.length;
+    }
+
+    private static void writeBase64(ExposedByteArrayOutputStream out, byte[] content) {
+        // O encoder escreve direto no buffer da mensagem; o close() só completa o padding
+        try (OutputStream encoder = MIME_BASE64.wrap(out)) {
+            encoder.write(content);
+        } catch (IOException e) {
+            // ByteArrayOutputStream não lança IOException
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Quebras de linha e outros caracteres de controle viram espaço, para que o valor não abra um novo cabeçalho
+    private static String encodeText(String value) {
+        try {
+            return MimeUtility.encodeText(value.replaceAll("\\p{Cntrl}", " "), "UTF-8", "B");
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // Valor de parâmetro (name/filename): codificado como o assunto e, se preciso, entre aspas com escape
+    private static String encodeParameter(String value) {
+        return MimeUtility.quote(encodeText(value), HeaderTokenizer.MIME);
+    }
+
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * ByteArrayOutputStream que entrega o próprio array interno ao SES, em vez de copiá-lo com toByteArray().
+     */
+    private static final class ExposedByteArrayOutputStream extends ByteArrayOutputStream {
+
+        ExposedByteArrayOutputStream(int initialSize) {
+            super(initialSize);
+        }
+
+        SdkBytes toSdkBytes() {
+            // O buffer é criado com o tamanho exato; o ByteBuffer só cobre o caso de a estimativa ter errado
+            return count == buf.length
+                    ? SdkBytes.fromByteArrayUnsafe(buf)
+                    : SdkBytes.fromByteBufferUnsafe(ByteBuffer.wrap(buf, 0, count));
+        }
+    }
+}
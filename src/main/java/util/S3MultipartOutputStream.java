@@ -0,0 +1,190 @@
+package util;
+
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompletedMultipartUpload;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * OutputStream que grava direto em um objeto do S3 usando multipart upload.
+ * Os bytes são acumulados em um único buffer do tamanho de uma parte, reaproveitado a cada parte enviada,
+ * então a memória usada não depende do tamanho do arquivo.
+ * Se tudo couber na primeira parte, o objeto é enviado com um único PutObject no close().
+ */
+public class S3MultipartOutputStream extends OutputStream {
+
+    // O S3 exige no mínimo 5 MB por parte (exceto a última)
+    public static final int MIN_PART_SIZE = 5 * 1024 * 1024;
+    public static final int DEFAULT_PART_SIZE = 8 * 1024 * 1024;
+
+    private final S3Client s3Client;
+    private final String bucket;
+    private final String key;
+    private final String contentType;
+    private final String contentEncoding;
+    private final byte[] buffer;
+    private int count;
+
+    private String uploadId;
+    private final List<CompletedPart> parts = new ArrayList<>();
+    private long bytesWritten;
+    private boolean closed;
+
+    public S3MultipartOutputStream(S3Client s3Client, String bucket, String key, String contentType) {
+        this(s3Client, bucket, key, contentType, null, DEFAULT_PART_SIZE);
+    }
+
+    /**
+     * @param contentEncoding Content-Encoding gravado no objeto (ex.: gzip), ou null se o conteúdo não for comprimido.
+     */
+    public S3MultipartOutputStream(S3Client s3Client, String bucket, String key, String contentType, String contentEncoding) {
+        this(s3Client, bucket, key, contentType, contentEncoding, DEFAULT_PART_SIZE);
+    }
+
+    public S3MultipartOutputStream(S3Client s3Client, String bucket, String key, String contentType, String contentEncoding, int partSize) {
+        if (partSize < MIN_PART_SIZE) {
+            throw new IllegalArgumentException("O tamanho da parte deve ser de pelo menos " + MIN_PART_SIZE + " bytes");
+        }
+        this.s3Client = s3Client;
+        this.bucket = bucket;
+        this.key = key;
+        this.contentType = contentType;
+        this.contentEncoding = contentEncoding;
+        this.buffer = new byte[partSize];
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        ensureOpen();
+        if (count == buffer.length) {
+            flushPart();
+        }
+        buffer[count++] = (byte) b;
+        bytesWritten++;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        ensureOpen();
+        while (len > 0) {
+            if (count == buffer.length) {
+                flushPart();
+            }
+            int chunk = Math.min(len, buffer.length - count);
+            System.arraycopy(b, off, buffer, count, chunk);
+            count += chunk;
+            off += chunk;
+            len -= chunk;
+            bytesWritten += chunk;
+        }
+    }
+
+    /**
+     * Envia o que restou no buffer e conclui o upload.
+     * Em caso de falha o multipart upload é abortado, para não deixar partes órfãs cobradas no bucket.
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+
+        try {
+            if (uploadId == null) {
+                s3Client.putObject(PutObjectRequest.builder()
+                                .bucket(bucket)
+                                .key(key)
+                                .contentType(contentType)
+                                .contentEncoding(contentEncoding)
+                                .build(),
+                        RequestBody.fromInputStream(new ByteArrayInputStream(buffer, 0, count), count));
+                return;
+            }
+
+            if (count > 0) {
+                uploadPart();
+            }
+            s3Client.completeMultipartUpload(CompleteMultipartUploadRequest.builder()
+                    .bucket(bucket)
+                    .key(key)
+                    .uploadId(uploadId)
+                    .multipartUpload(CompletedMultipartUpload.builder().parts(parts).build())
+                    .build());
+        } catch (RuntimeException e) {
+            abort();
+            throw e;
+        }
+    }
+
+    /**
+     * Descarta o upload em andamento. Usado quando a geração do arquivo falha antes do close().
+     */
+    public void abort() {
+        closed = true;
+        if (uploadId != null) {
+            try {
+                s3Client.abortMultipartUpload(AbortMultipartUploadRequest.builder()
+                        .bucket(bucket)
+                        .key(key)
+                        .uploadId(uploadId)
+                        .build());
+            } finally {
+                uploadId = null;
+            }
+        }
+    }
+
+    public long getBytesWritten() {
+        return bytesWritten;
+    }
+
+    private void flushPart() {
+        try {
+            if (uploadId == null) {
+                uploadId = s3Client.createMultipartUpload(CreateMultipartUploadRequest.builder()
+                        .bucket(bucket)
+                        .key(key)
+                        .contentType(contentType)
+                        .contentEncoding(contentEncoding)
+                        .build()).uploadId();
+            }
+            uploadPart();
+        } catch (RuntimeException e) {
+            abort();
+            throw e;
+        }
+    }
+
+    // O envio é síncrono: quando retorna, o buffer já pode ser reaproveitado para a próxima parte
+    private void uploadPart() {
+        int partNumber = parts.size() + 1;
+        String eTag = s3Client.uploadPart(UploadPartRequest.builder()
+                        .bucket(bucket)
+                        .key(key)
+                        .uploadId(uploadId)
+                        .partNumber(partNumber)
+                        .contentLength((long) count)
+                        .build(),
+                RequestBody.fromInputStream(new ByteArrayInputStream(buffer, 0, count), count)).eTag();
+        parts.add(CompletedPart.builder().partNumber(partNumber).eTag(eTag).build());
+        count = 0;
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("Stream já foi fechado");
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package util.format;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+import model.Task;
+
+/**
+ * Linha da exportação da conta em arquivo único: a tarefa precedida do id da lista a que ela pertence.
+ * O cabeçalho da lista tem pk = USER#... e o id no sk; os itens têm o id no pk. A coluna listId deixa isso explícito.
+ */
+@JsonPropertyOrder({"listId", "task"})
+public final class AccountRow {
+
+    private final String listId;
+    private final Task task;
+
+    public AccountRow(String listId, Task task) {
+        this.listId = listId;
+        this.task = task;
+    }
+
+    public String getListId() {
+        return listId;
+    }
+
+    // As colunas da tarefa vêm logo depois de listId, no mesmo nível (ver ExportColumns)
+    @JsonUnwrapped
+    public Task getTask() {
+        return task;
+    }
+}
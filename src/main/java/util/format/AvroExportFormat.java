@@ -0,0 +1,121 @@
+package util.format;
+
+import model.Task;
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaBuilder;
+import org.apache.avro.file.DataFileWriter;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericDatumWriter;
+import org.apache.avro.generic.GenericRecord;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+
+/**
+ * Arquivo Avro (object container): binário, com o schema no cabeçalho e as linhas gravadas em blocos.
+ * É lido direto pelas ferramentas de análise, sem reinterpretar texto.
+ */
+public final class AvroExportFormat implements ExportFormat {
+
+    public static final AvroExportFormat INSTANCE = new AvroExportFormat();
+
+    // Mesmas colunas de ExportColumns
+    static final Schema SCHEMA = taskFields(SchemaBuilder.record("Task").namespace("model").fields())
+            .endRecord();
+
+    // Exportação da conta em arquivo único: listId antes das colunas da tarefa
+    static final Schema ACCOUNT_SCHEMA = taskFields(SchemaBuilder.record("AccountRow").namespace("model").fields()
+            .requiredString(ExportColumns.LIST_ID))
+            .endRecord();
+
+    private AvroExportFormat() {}
+
+    @Override
+    public String name() {
+        return "avro";
+    }
+
+    @Override
+    public String extension() {
+        return ".avro";
+    }
+
+    @Override
+    public String contentType() {
+        return "application/avro";
+    }
+
+    @Override
+    public long write(Iterator<Task> tasks, OutputStream out) throws IOException {
+        long rows = 0;
+        // O mesmo registro é reaproveitado para todas as linhas
+        GenericRecord record = new GenericData.Record(SCHEMA);
+        try (DataFileWriter<GenericRecord> writer = open(SCHEMA, out)) {
+            while (tasks.hasNext()) {
+                putTask(record, tasks.next());
+                writer.append(record);
+                rows++;
+            }
+        }
+        return rows;
+    }
+
+    @Override
+    public long writeAccount(Iterator<AccountRow> rows, OutputStream out) throws IOException {
+        long count = 0;
+        GenericRecord record = new GenericData.Record(ACCOUNT_SCHEMA);
+        try (DataFileWriter<GenericRecord> writer = open(ACCOUNT_SCHEMA, out)) {
+            while (rows.hasNext()) {
+                AccountRow row = rows.next();
+                record.put(ExportColumns.LIST_ID, row.getListId());
+                putTask(record, row.getTask());
+                writer.append(record);
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static DataFileWriter<GenericRecord> open(Schema schema, OutputStream out) throws IOException {
+        DataFileWriter<GenericRecord> writer = new DataFileWriter<>(new GenericDatumWriter<GenericRecord>(schema));
+        return writer.create(schema, new NonClosingOutputStream(out));
+    }
+
+    private static SchemaBuilder.FieldAssembler<Schema> taskFields(SchemaBuilder.FieldAssembler<Schema> fields) {
+        return fields
+                .requiredString("pk")
+                .requiredString("sk")
+                .optionalString("description")
+                .optionalLong("version")
+                .optionalString("updatedAt")
+                .optionalBoolean("done");
+    }
+
+    private static void putTask(GenericRecord record, Task task) {
+        record.put("pk", task.getPk());
+        record.put("sk", task.getSk());
+        record.put("description", task.getDescription());
+        record.put("version", task.getVersion());
+        record.put("updatedAt", task.getUpdatedAt());
+        record.put("done", task.getDone());
+    }
+
+    // O DataFileWriter fecha o stream recebido; quem abriu o destino é quem deve fechá-lo
+    private static final class NonClosingOutputStream extends FilterOutputStream {
+        NonClosingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package util.format;
+
+import model.Task;
+import util.Csv;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+
+/**
+ * CSV com cabeçalho e todos os campos entre aspas (formato original da exportação).
+ */
+public final class CsvExportFormat implements ExportFormat {
+
+    public static final CsvExportFormat INSTANCE = new CsvExportFormat();
+
+    private CsvExportFormat() {}
+
+    @Override
+    public String name() {
+        return "csv";
+    }
+
+    @Override
+    public String extension() {
+        return ".csv";
+    }
+
+    @Override
+    public String contentType() {
+        return "text/csv";
+    }
+
+    @Override
+    public long write(Iterator<Task> tasks, OutputStream out) throws IOException {
+        return Csv.writeCsv(tasks, out);
+    }
+
+    @Override
+    public long writeAccount(Iterator<AccountRow> rows, OutputStream out) throws IOException {
+        return Csv.writeAccountCsv(rows, out);
+    }
+}
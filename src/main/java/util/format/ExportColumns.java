@@ -0,0 +1,56 @@
+package util.format;
+
+import com.fasterxml.jackson.annotation.JsonIncludeProperties;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import model.Task;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Colunas das exportações. A lista é explícita: atributos internos da tabela (ownerPk, itemCount, doneCount
+ * e os que vierem depois) só aparecem no arquivo se forem incluídos aqui.
+ * Para o Jackson (CSV e NDJSON) as colunas entram como mixin do Task; o schema do Avro segue a mesma lista.
+ */
+@JsonIncludeProperties({"pk", "sk", "description", "version", "updatedAt", "done"})
+@JsonPropertyOrder({"pk", "sk", "description", "version", "updatedAt", "done"})
+public abstract class ExportColumns {
+
+    // Mesma lista das anotações acima, na mesma ordem
+    public static final List<String> NAMES = List.of("pk", "sk", "description", "version", "updatedAt", "done");
+
+    // Exportação da conta em arquivo único: o id da lista antes das colunas da tarefa (ver AccountRow)
+    public static final String LIST_ID = "listId";
+    public static final List<String> ACCOUNT_NAMES = Stream.concat(Stream.of(LIST_ID), NAMES.stream()).toList();
+
+    private ExportColumns() {}
+
+    /**
+     * Registra as colunas da exportação para o Task no mapper.
+     * @return O próprio mapper, para encadear a configuração.
+     */
+    public static <M extends ObjectMapper> M applyTo(M mapper) {
+        mapper.addMixIn(Task.class, ExportColumns.class);
+        return mapper;
+    }
+
+    /**
+     * Schema do CSV com as colunas da exportação e cabeçalho (o schemaFor do CsvMapper não respeita o mixin).
+     */
+    public static CsvSchema csvSchema() {
+        return csvSchema(NAMES);
+    }
+
+    /**
+     * Schema do CSV das linhas da conta (AccountRow): listId seguido das colunas da exportação.
+     */
+    public static CsvSchema accountCsvSchema() {
+        return csvSchema(ACCOUNT_NAMES);
+    }
+
+    private static CsvSchema csvSchema(List<String> columns) {
+        return CsvSchema.builder().addColumns(columns, CsvSchema.ColumnType.STRING).build().withHeader();
+    }
+}
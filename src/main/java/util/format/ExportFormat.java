@@ -0,0 +1,66 @@
+package util.format;
+
+import model.Task;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.Locale;
+
+/**
+ * Formato de arquivo usado na exportação das tarefas.
+ * Cada implementação escreve as linhas direto no stream, uma a uma, sem montar a lista em memória.
+ */
+public interface ExportFormat {
+
+    /**
+     * @return O nome do formato, usado na requisição e na mensagem da fila (ex.: "csv").
+     */
+    String name();
+
+    /**
+     * @return A extensão do arquivo, com o ponto (ex.: ".csv").
+     */
+    String extension();
+
+    /**
+     * @return O Content-Type do arquivo gerado.
+     */
+    String contentType();
+
+    /**
+     * Escreve as tarefas no stream.
+     * @param tasks As tarefas, consumidas uma única vez.
+     * @param out O stream de destino; não é fechado aqui.
+     * @return A quantidade de tarefas escritas.
+     * @throws IOException Se ocorrer um erro durante a escrita.
+     */
+    long write(Iterator<Task> tasks, OutputStream out) throws IOException;
+
+    /**
+     * Escreve as linhas da exportação da conta em arquivo único, com a coluna listId antes das colunas da tarefa.
+     * @param rows As linhas, consumidas uma única vez.
+     * @param out O stream de destino; não é fechado aqui.
+     * @return A quantidade de linhas escritas.
+     * @throws IOException Se ocorrer um erro durante a escrita.
+     */
+    long writeAccount(Iterator<AccountRow> rows, OutputStream out) throws IOException;
+
+    /**
+     * Converte o parâmetro da requisição ("csv", "ndjson" ou "avro") no formato correspondente.
+     * @param value O valor informado pelo cliente; null ou vazio significa CSV.
+     * @return O formato escolhido.
+     * @throws IllegalArgumentException Se o valor não for um formato suportado.
+     */
+    static ExportFormat fromParam(String value) {
+        if (value == null || value.isBlank()) {
+            return CsvExportFormat.INSTANCE;
+        }
+        return switch (value.trim().toLowerCase(Locale.ROOT)) {
+            case "csv" -> CsvExportFormat.INSTANCE;
+            case "ndjson" -> NdjsonExportFormat.INSTANCE;
+            case "avro" -> AvroExportFormat.INSTANCE;
+            default -> throw new IllegalArgumentException("Formato não suportado: " + value);
+        };
+    }
+}
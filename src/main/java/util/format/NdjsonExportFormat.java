@@ -0,0 +1,65 @@
+package util.format;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import model.Task;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+
+/**
+ * NDJSON: um objeto JSON por linha, com as mesmas colunas e a mesma ordem do CSV (ver ExportColumns).
+ */
+public final class NdjsonExportFormat implements ExportFormat {
+
+    public static final NdjsonExportFormat INSTANCE = new NdjsonExportFormat();
+
+    private static final ObjectMapper MAPPER = ExportColumns.applyTo(new ObjectMapper())
+            .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    private static final ObjectWriter WRITER = MAPPER.writerFor(Task.class);
+    private static final ObjectWriter ACCOUNT_WRITER = MAPPER.writerFor(AccountRow.class);
+
+    private NdjsonExportFormat() {}
+
+    @Override
+    public String name() {
+        return "ndjson";
+    }
+
+    @Override
+    public String extension() {
+        return ".ndjson";
+    }
+
+    @Override
+    public String contentType() {
+        return "application/x-ndjson";
+    }
+
+    @Override
+    public long write(Iterator<Task> tasks, OutputStream out) throws IOException {
+        return write(WRITER, tasks, out);
+    }
+
+    @Override
+    public long writeAccount(Iterator<AccountRow> rows, OutputStream out) throws IOException {
+        return write(ACCOUNT_WRITER, rows, out);
+    }
+
+    private static long write(ObjectWriter writer, Iterator<?> values, OutputStream out) throws IOException {
+        long rows = 0;
+        try (JsonGenerator generator = MAPPER.getFactory().createGenerator(out, JsonEncoding.UTF8)) {
+            // Sem o separador padrão (espaço) entre valores raiz; cada linha termina com '\n'
+            generator.setRootValueSeparator(null);
+            while (values.hasNext()) {
+                writer.writeValue(generator, values.next());
+                generator.writeRaw('\n');
+                rows++;
+            }
+        }
+        return rows;
+    }
+}
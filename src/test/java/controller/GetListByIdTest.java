@@ -13,7 +13,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import repository.TaskRepository;
-import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
+import software.amazon.awssdk.enhanced.dynamodb.Key;
 
 import java.lang.reflect.Type;
 import java.util.List;
@@ -21,6 +21,8 @@ import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -34,9 +36,6 @@ public class GetListByIdTest {
     @Mock
     private LambdaLogger logger;
 
-    @Mock
-    private DynamoDbTable<Task> table;
-
     @Mock
     private TaskRepository repository;
 
@@ -46,7 +45,7 @@ public class GetListByIdTest {
 
     @BeforeEach
     void setUp(){
-        getListById = new GetListById(table, repository);
+        getListById = new GetListById(repository);
 
         when(context.getLogger()).thenReturn(logger);
     }
@@ -63,7 +62,7 @@ public class GetListByIdTest {
 
         List<Task> expectedList = List.of(list);
 
-        when(repository.getTask(pk,sk)).thenReturn(expectedList);
+        when(repository.getTask(pk, sk, null)).thenReturn(expectedList);
 
         APIGatewayProxyRequestEvent requestEvent = new APIGatewayProxyRequestEvent();
         requestEvent.setQueryStringParameters(Map.of("pk", pk,"sk", sk));
@@ -85,6 +84,69 @@ public class GetListByIdTest {
         assertEquals(expectedTask.getSk(), responseTask.getSk());
         assertEquals(expectedTask.getDescription(), responseTask.getDescription());
 
-        verify(repository).getTask(pk,sk);
+        verify(repository).getTask(pk, sk, null);
+    }
+
+    @Test
+    void shouldGetManyKeysInRequestOrder(){
+        Task first = new Task("USER#milena", "LIST#2", "segunda lista");
+        Task second = new Task("USER#milena", "LIST#1", "primeira lista");
+
+        List<Key> expectedKeys = List.of(
+                Key.builder().partitionValue("USER#milena").sortValue("LIST#2").build(),
+                Key.builder().partitionValue("USER#milena").sortValue("LIST#1").build());
+
+        when(repository.batchGetTasks(expectedKeys, null)).thenReturn(List.of(first, second));
+
+        APIGatewayProxyRequestEvent requestEvent = new APIGatewayProxyRequestEvent();
+        requestEvent.setQueryStringParameters(Map.of("keys", "USER#milena|LIST#2,USER#milena|LIST#1"));
+
+        APIGatewayProxyResponseEvent responseEvent = getListById.handleRequest(requestEvent, context);
+
+        assertEquals(200, responseEvent.getStatusCode());
+
+        Type taskListType = new TypeToken<List<Task>>(){}.getType();
+        List<Task> responseTasks = gson.fromJson(responseEvent.getBody(), taskListType);
+
+        assertEquals(List.of(first, second), responseTasks);
+        verify(repository, never()).getTask(any(), any(), any());
+    }
+
+    @Test
+    void shouldProjectRequestedFields(){
+        Task list = new Task("USER#milena", "LIST#1", null);
+        list.setItemCount(3L);
+
+        when(repository.getTask("USER#milena", "LIST#1", List.of("pk", "sk", "itemCount"))).thenReturn(List.of(list));
+
+        APIGatewayProxyRequestEvent requestEvent = new APIGatewayProxyRequestEvent();
+        requestEvent.setQueryStringParameters(Map.of("pk", "USER#milena", "sk", "LIST#1", "fields", "itemCount"));
+
+        APIGatewayProxyResponseEvent responseEvent = getListById.handleRequest(requestEvent, context);
+
+        assertEquals(200, responseEvent.getStatusCode());
+        assertEquals("[{\"pk\":\"USER#milena\",\"sk\":\"LIST#1\",\"itemCount\":3}]", responseEvent.getBody());
+    }
+
+    @Test
+    void shouldReturn400WhenFieldIsUnknown(){
+        APIGatewayProxyRequestEvent requestEvent = new APIGatewayProxyRequestEvent();
+        requestEvent.setQueryStringParameters(Map.of("pk", "USER#milena", "sk", "LIST#1", "fields", "description,senha"));
+
+        APIGatewayProxyResponseEvent responseEvent = getListById.handleRequest(requestEvent, context);
+
+        assertEquals(400, responseEvent.getStatusCode());
+        verify(repository, never()).getTask(any(), any(), any());
+    }
+
+    @Test
+    void shouldReturn400WhenKeyIsMalformed(){
+        APIGatewayProxyRequestEvent requestEvent = new APIGatewayProxyRequestEvent();
+        requestEvent.setQueryStringParameters(Map.of("keys", "USER#milena|LIST#1,LIST#2"));
+
+        APIGatewayProxyResponseEvent responseEvent = getListById.handleRequest(requestEvent, context);
+
+        assertEquals(400, responseEvent.getStatusCode());
+        verify(repository, never()).batchGetTasks(any(), any());
     }
 }
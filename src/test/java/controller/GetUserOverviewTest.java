@@ -0,0 +1,143 @@
+package controller;
+
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.LambdaLogger;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+import model.ListOverview;
+import model.Task;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import repository.TaskRepository;
+import software.amazon.awssdk.enhanced.dynamodb.model.Page;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import util.ApiResponse;
+import util.Pagination;
+
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class GetUserOverviewTest {
+
+    @Mock
+    private Context context;
+
+    @Mock
+    private LambdaLogger logger;
+
+    @Mock
+    private TaskRepository repository;
+
+    private final Gson gson = new Gson();
+    private final Type overviewType = new TypeToken<ApiResponse<List<ListOverview>>>(){}.getType();
+
+    private static final String PK = "USER#milena";
+
+    @BeforeEach
+    void setUp() {
+        when(context.getLogger()).thenReturn(logger);
+    }
+
+    @Test
+    void shouldComposeListsWithTheirItemsInListOrder() {
+        Task mercado = new Task(PK, "LIST#1", "Mercado");
+        Task farmacia = new Task(PK, "LIST#2", "Farmácia");
+        Task leite = new Task("LIST#1", "A1", "Leite");
+        Task pao = new Task("LIST#1", "A2", "Pão");
+        Map<String, AttributeValue> lastItemKey = Map.of(
+                "pk", AttributeValue.builder().s("LIST#1").build(),
+                "sk", AttributeValue.builder().s("A2").build());
+
+        when(repository.getTasksPageByPk(PK, Pagination.DEFAULT_LIMIT, null)).thenReturn(Page.create(List.of(mercado, farmacia)));
+        when(repository.getTasksPageByPk("LIST#1", 2, null)).thenReturn(Page.create(List.of(leite, pao), lastItemKey));
+        when(repository.getTasksPageByPk("LIST#2", 2, null)).thenReturn(Page.create(List.of()));
+
+        APIGatewayProxyResponseEvent response = new GetUserOverview(repository, 2)
+                .handleRequest(request(Map.of("pk", PK, "itemsPerList", "2")), context);
+
+        assertEquals(200, response.getStatusCode());
+        ApiResponse<List<ListOverview>> body = gson.fromJson(response.getBody(), overviewType);
+        List<ListOverview> overview = body.getData();
+
+        assertEquals(2, overview.size());
+        assertEquals(mercado, overview.get(0).getList());
+        assertEquals(List.of(leite, pao), overview.get(0).getItems());
+        assertNotNull(overview.get(0).getItemsNextToken());
+        assertEquals(farmacia, overview.get(1).getList());
+        assertEquals(List.of(), overview.get(1).getItems());
+        assertNull(overview.get(1).getItemsNextToken());
+        assertNull(body.getPagination().getNextToken());
+    }
+
+    @Test
+    void shouldNotExceedParallelism() {
+        List<Task> lists = List.of(new Task(PK, "LIST#1", "a"), new Task(PK, "LIST#2", "b"),
+                new Task(PK, "LIST#3", "c"), new Task(PK, "LIST#4", "d"));
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+
+        when(repository.getTasksPageByPk(PK, Pagination.DEFAULT_LIMIT, null)).thenReturn(Page.create(lists));
+        when(repository.getTasksPageByPk(eq("LIST#1"), anyInt(), any())).thenAnswer(invocation -> slowEmptyPage(running, peak));
+        when(repository.getTasksPageByPk(eq("LIST#2"), anyInt(), any())).thenAnswer(invocation -> slowEmptyPage(running, peak));
+        when(repository.getTasksPageByPk(eq("LIST#3"), anyInt(), any())).thenAnswer(invocation -> slowEmptyPage(running, peak));
+        when(repository.getTasksPageByPk(eq("LIST#4"), anyInt(), any())).thenAnswer(invocation -> slowEmptyPage(running, peak));
+
+        APIGatewayProxyResponseEvent response = new GetUserOverview(repository, 2)
+                .handleRequest(request(Map.of("pk", PK)), context);
+
+        assertEquals(200, response.getStatusCode());
+        assertTrue(peak.get() <= 2);
+    }
+
+    @Test
+    void shouldReturn500WhenAListFails() {
+        when(repository.getTasksPageByPk(PK, Pagination.DEFAULT_LIMIT, null)).thenReturn(Page.create(List.of(new Task(PK, "LIST#1", "Mercado"))));
+        when(repository.getTasksPageByPk("LIST#1", GetUserOverview.DEFAULT_ITEMS_PER_LIST, null)).thenThrow(new RuntimeException("throttling"));
+
+        APIGatewayProxyResponseEvent response = new GetUserOverview(repository, 2)
+                .handleRequest(request(Map.of("pk", PK)), context);
+
+        assertEquals(500, response.getStatusCode());
+    }
+
+    @Test
+    void shouldReturn400WhenItemsPerListIsInvalid() {
+        APIGatewayProxyResponseEvent response = new GetUserOverview(repository, 2)
+                .handleRequest(request(Map.of("pk", PK, "itemsPerList", "0")), context);
+
+        assertEquals(400, response.getStatusCode());
+        verify(repository, never()).getTasksPageByPk(any(), anyInt(), any());
+    }
+
+    private static APIGatewayProxyRequestEvent request(Map<String, String> queryParams) {
+        APIGatewayProxyRequestEvent request = new APIGatewayProxyRequestEvent();
+        request.setQueryStringParameters(queryParams);
+        return request;
+    }
+
+    private static Page<Task> slowEmptyPage(AtomicInteger running, AtomicInteger peak) throws InterruptedException {
+        peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+        Thread.sleep(50);
+        running.decrementAndGet();
+        return Page.create(List.of());
+    }
+}
@@ -15,13 +15,20 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
+import software.amazon.awssdk.enhanced.dynamodb.model.Page;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import util.ApiResponse;
+import util.Pagination;
 
 import java.lang.reflect.Type;
 import java.util.List;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -62,23 +69,104 @@ public class ListListsTest {
         task.setDescription("Task 1");
         List<Task> tasks = List.of(task);
 
-        when(taskRepository.getTasksByPk(pk)).thenReturn(tasks);
+        when(taskRepository.getTasksPageByPk(pk, Pagination.DEFAULT_LIMIT, null, null)).thenReturn(Page.create(tasks));
 
         APIGatewayProxyRequestEvent request= new APIGatewayProxyRequestEvent();
         request.setQueryStringParameters(Map.of("pk", pk));
 
         APIGatewayProxyResponseEvent response = listTasks.handleRequest(request, context);
 
-        Type taskListType = new TypeToken<List<Task>>(){}.getType();
-        List<Task> responseTasks = gson.fromJson(response.getBody(), taskListType);
+        Type pageType = new TypeToken<ApiResponse<List<Task>>>(){}.getType();
+        ApiResponse<List<Task>> responsePage = gson.fromJson(response.getBody(), pageType);
 
-        assertEquals(tasks, responseTasks);
+        assertEquals(tasks, responsePage.getData());
+        assertNull(responsePage.getPagination().getNextToken());
         assertEquals(200, response.getStatusCode());
 
-        verify(taskRepository).getTasksByPk(pk);
+        verify(taskRepository).getTasksPageByPk(pk, Pagination.DEFAULT_LIMIT, null, null);
 
     }
 
+    @Test
+    void shouldReturnNextTokenAndAcceptItBack() {
+
+        String pk = "USER#milena";
+
+        Task task = new Task(pk, "LIST#1", "Task 1");
+        Map<String, AttributeValue> lastKey = Map.of(
+                "pk", AttributeValue.builder().s(pk).build(),
+                "sk", AttributeValue.builder().s("LIST#1").build());
+
+        when(taskRepository.getTasksPageByPk(pk, 1, null, null)).thenReturn(Page.create(List.of(task), lastKey));
+
+        APIGatewayProxyRequestEvent firstRequest = new APIGatewayProxyRequestEvent();
+        firstRequest.setQueryStringParameters(Map.of("pk", pk, "limit", "1"));
+
+        APIGatewayProxyResponseEvent firstResponse = listTasks.handleRequest(firstRequest, context);
+
+        Type pageType = new TypeToken<ApiResponse<List<Task>>>(){}.getType();
+        ApiResponse<List<Task>> firstPage = gson.fromJson(firstResponse.getBody(), pageType);
+
+        assertEquals(200, firstResponse.getStatusCode());
+        assertNotNull(firstPage.getPagination().getNextToken());
+
+        when(taskRepository.getTasksPageByPk(pk, 1, lastKey, null)).thenReturn(Page.create(List.of()));
+
+        APIGatewayProxyRequestEvent secondRequest = new APIGatewayProxyRequestEvent();
+        secondRequest.setQueryStringParameters(Map.of("pk", pk, "limit", "1", "nextToken", firstPage.getPagination().getNextToken()));
+
+        APIGatewayProxyResponseEvent secondResponse = listTasks.handleRequest(secondRequest, context);
+
+        assertEquals(200, secondResponse.getStatusCode());
+        verify(taskRepository).getTasksPageByPk(pk, 1, lastKey, null);
+    }
+
+    @Test
+    void shouldPassRequestedFieldsAsProjection() {
+
+        String pk = "USER#milena";
+        Task task = new Task(pk, "LIST#1", "Task 1");
+
+        when(taskRepository.getTasksPageByPk(pk, Pagination.DEFAULT_LIMIT, null, List.of("pk", "sk", "description")))
+                .thenReturn(Page.create(List.of(task)));
+
+        APIGatewayProxyRequestEvent request= new APIGatewayProxyRequestEvent();
+        request.setQueryStringParameters(Map.of("pk", pk, "fields", "description, sk"));
+
+        APIGatewayProxyResponseEvent response = listTasks.handleRequest(request, context);
+
+        assertEquals(200, response.getStatusCode());
+        verify(taskRepository).getTasksPageByPk(pk, Pagination.DEFAULT_LIMIT, null, List.of("pk", "sk", "description"));
+    }
+
+    @Test
+    void shouldReturnErrorByInvalidNextToken() {
+
+        APIGatewayProxyRequestEvent request= new APIGatewayProxyRequestEvent();
+        request.setQueryStringParameters(Map.of("pk", "USER#milena", "nextToken", "não-é-um-token"));
+
+        APIGatewayProxyResponseEvent response = listTasks.handleRequest(request, context);
+
+        assertEquals(400, response.getStatusCode());
+        verify(taskRepository, never()).getTasksPageByPk(any(), anyInt(), any(), any());
+    }
+
+    @Test
+    void shouldRejectNextTokenFromAnotherPk() {
+
+        String otherToken = Pagination.encodeToken(Map.of(
+                "pk", AttributeValue.builder().s("USER#outra").build(),
+                "sk", AttributeValue.builder().s("LIST#1").build()));
+
+        APIGatewayProxyRequestEvent request= new APIGatewayProxyRequestEvent();
+        request.setQueryStringParameters(Map.of("pk", "USER#milena", "nextToken", otherToken));
+
+        APIGatewayProxyResponseEvent response = listTasks.handleRequest(request, context);
+
+        assertEquals(400, response.getStatusCode());
+        verify(taskRepository, never()).getTasksPageByPk(any(), anyInt(), any(), any());
+    }
+
     @Test
     void shouldReturnErrorByParam() {
 
@@ -90,7 +178,7 @@ public class ListListsTest {
         APIGatewayProxyResponseEvent response = listTasks.handleRequest(request, context);
 
         assertEquals(400, response.getStatusCode());
-        verify(taskRepository, never()).getTasksByPk(any());
+        verify(taskRepository, never()).getTasksPageByPk(any(), anyInt(), any(), any());
 
 
 
@@ -4,12 +4,13 @@ import com.amazonaws.services.lambda.runtime.Context;
 import com.amazonaws.services.lambda.runtime.LambdaLogger;
 import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
 import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
+import com.google.gson.Gson;
 import model.Task;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
-import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
-import software.amazon.awssdk.enhanced.dynamodb.Key;
+import repository.TaskRepository;
+import repository.VersionConflictException;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -17,14 +18,14 @@ import static org.mockito.Mockito.*;
 
 class UpdateListTest {
 
-    private DynamoDbTable<Task> mockTable;
+    private TaskRepository mockRepository;
     private UpdateList updateTask;
     private Context context;
 
     @BeforeEach
     void setUp() {
-        mockTable = Mockito.mock(DynamoDbTable.class);
-        updateTask = new UpdateList(mockTable);
+        mockRepository = Mockito.mock(TaskRepository.class);
+        updateTask = new UpdateList(mockRepository);
 
         // Mock Lambda Context and Logger
         context = Mockito.mock(Context.class);
@@ -34,8 +35,9 @@ class UpdateListTest {
 
     @Test
     void shouldUpdateTaskSuccessfully() {
-        Task task = new Task("USER#milena", "LIST#1", "old description");
-        when(mockTable.getItem(any(Key.class))).thenReturn(task);
+        Task task = new Task("USER#milena", "LIST#1", "new description");
+        task.setVersion(2L);
+        when(mockRepository.updateDescription("USER#milena", "LIST#1", "new description", null)).thenReturn(task);
 
         APIGatewayProxyRequestEvent request = new APIGatewayProxyRequestEvent()
                 .withPathParameters(java.util.Map.of("pk", "USER#milena","sk", "LIST#1"))
@@ -45,12 +47,29 @@ class UpdateListTest {
 
         assertEquals(200, response.getStatusCode());
         assertTrue(response.getBody().contains("new description"));
-        verify(mockTable, times(1)).putItem(any(Task.class));
+        // O corpo é o objeto serializado uma única vez, não uma string JSON escapada
+        assertEquals("new description", new Gson().fromJson(response.getBody(), Task.class).getDescription());
+        verify(mockRepository, times(1)).updateDescription("USER#milena", "LIST#1", "new description", null);
+    }
+
+    @Test
+    void shouldReturn409WhenVersionIsStale() {
+        when(mockRepository.updateDescription("USER#milena", "LIST#1", "new description", 1L))
+                .thenThrow(new VersionConflictException("O item foi alterado por outra requisição"));
+
+        APIGatewayProxyRequestEvent request = new APIGatewayProxyRequestEvent()
+                .withPathParameters(java.util.Map.of("pk", "USER#milena","sk", "LIST#1"))
+                .withBody("{\"description\":\"new description\",\"version\":1}");
+
+        APIGatewayProxyResponseEvent response = updateTask.handleRequest(request, context);
+
+        assertEquals(409, response.getStatusCode());
+        verify(mockRepository, times(1)).updateDescription("USER#milena", "LIST#1", "new description", 1L);
     }
 
     @Test
     void shouldReturn404WhenTaskDoesNotExist() {
-        when(mockTable.getItem(any(Key.class))).thenReturn(null);
+        when(mockRepository.updateDescription("USER#milena", "nonexistent-task", "new description", null)).thenReturn(null);
 
         APIGatewayProxyRequestEvent request = new APIGatewayProxyRequestEvent()
                 .withPathParameters(java.util.Map.of("pk", "USER#milena","sk", "nonexistent-task"))
@@ -59,7 +78,6 @@ class UpdateListTest {
         APIGatewayProxyResponseEvent response = updateTask.handleRequest(request, context);
 
         assertEquals(404, response.getStatusCode());
-        verify(mockTable, never()).putItem(any(Task.class));
     }
 
     @Test
@@ -71,7 +89,7 @@ class UpdateListTest {
         APIGatewayProxyResponseEvent response = updateTask.handleRequest(request, context);
 
         assertEquals(400, response.getStatusCode());
-        verify(mockTable, never()).putItem(any(Task.class));
+        verify(mockRepository, never()).updateDescription(any(), any(), any(), any());
     }
 
     @Test
@@ -83,7 +101,7 @@ class UpdateListTest {
         APIGatewayProxyResponseEvent response = updateTask.handleRequest(request, context);
 
         assertEquals(400, response.getStatusCode());
-        verify(mockTable, never()).putItem(any(Task.class));
+        verify(mockRepository, never()).updateDescription(any(), any(), any(), any());
     }
 
     @Test
@@ -94,7 +112,7 @@ class UpdateListTest {
         APIGatewayProxyResponseEvent response = updateTask.handleRequest(request, context);
 
         assertEquals(400, response.getStatusCode());
-        verify(mockTable, never()).putItem(any(Task.class));
+        verify(mockRepository, never()).updateDescription(any(), any(), any(), any());
     }
 
     @Test
@@ -106,6 +124,32 @@ class UpdateListTest {
         APIGatewayProxyResponseEvent response = updateTask.handleRequest(request, context);
 
         assertEquals(400, response.getStatusCode());
-        verify(mockTable, never()).putItem(any(Task.class));
+        verify(mockRepository, never()).updateDescription(any(), any(), any(), any());
+    }
+
+    @Test
+    void shouldReturn400WhenVersionIsNotANumber() {
+        for (String version : new String[]{"{}", "true"}) {
+            APIGatewayProxyRequestEvent request = new APIGatewayProxyRequestEvent()
+                    .withPathParameters(java.util.Map.of("pk", "USER#123", "sk", "LIST#001"))
+                    .withBody("{\"description\":\"new description\",\"version\":" + version + "}");
+
+            APIGatewayProxyResponseEvent response = updateTask.handleRequest(request, context);
+
+            assertEquals(400, response.getStatusCode(), version);
+        }
+        verify(mockRepository, never()).updateDescription(any(), any(), any(), any());
+    }
+
+    @Test
+    void shouldReturn400WhenDescriptionIsNull() {
+        APIGatewayProxyRequestEvent request = new APIGatewayProxyRequestEvent()
+                .withPathParameters(java.util.Map.of("pk", "USER#123", "sk", "LIST#001"))
+                .withBody("{\"description\":null}");
+
+        APIGatewayProxyResponseEvent response = updateTask.handleRequest(request, context);
+
+        assertEquals(400, response.getStatusCode());
+        verify(mockRepository, never()).updateDescription(any(), any(), any(), any());
     }
 }
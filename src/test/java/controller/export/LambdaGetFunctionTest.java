@@ -2,7 +2,11 @@ package controller.export;
 
 import com.amazonaws.services.lambda.runtime.Context;
 import com.amazonaws.services.lambda.runtime.LambdaLogger;
+import com.amazonaws.services.lambda.runtime.events.SQSBatchResponse;
 import com.amazonaws.services.lambda.runtime.events.SQSEvent;
+import jakarta.mail.Session;
+import jakarta.mail.internet.MimeMessage;
+import jakarta.mail.internet.MimeMultipart;
 import model.Task;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -11,16 +15,37 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import repository.TaskRepository;
+import software.amazon.awssdk.core.ResponseBytes;
 import software.amazon.awssdk.core.sync.RequestBody;
 import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.CopyObjectRequest;
+import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+import software.amazon.awssdk.services.s3.presigner.model.GetObjectPresignRequest;
+import software.amazon.awssdk.services.s3.presigner.model.PresignedGetObjectRequest;
 import software.amazon.awssdk.services.ses.SesClient;
 import software.amazon.awssdk.services.ses.model.SendRawEmailRequest;
+import util.ExportFingerprint;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -47,13 +72,24 @@ public class LambdaGetFunctionTest {
     @BeforeEach
     void setUp() {
         when(mockContext.getLogger()).thenReturn(mockLogger);
+        // Por padrão nenhuma exportação anterior existe no bucket
+        lenient().when(mockS3Client.headObject(any(HeadObjectRequest.class))).thenThrow(NoSuchKeyException.builder().build());
+        // A consulta projetada da impressão digital devolve o mesmo que a consulta completa stubada em cada teste
+        lenient().when(mockRepository.streamTasksByPk(anyString(), eq(ExportFingerprint.FIELDS)))
+                .thenAnswer(invocation -> mockRepository.streamTasksByPk(invocation.<String>getArgument(0)));
+        lenient().when(mockRepository.streamTasksUpdatedSince(anyString(), anyString(), eq(ExportFingerprint.FIELDS)))
+                .thenAnswer(invocation -> mockRepository.streamTasksUpdatedSince(invocation.getArgument(0), invocation.getArgument(1)));
         handler = new LambdaGetFunction(mockRepository, mockS3Client, mockSesClient, FAKE_S3_BUCKET, FAKE_SES_FROM);
     }
 
     private SQSEvent createSqsEvent(String pk, String email) {
+        return createSqsEvent("{\"pk\":\"" + pk + "\",\"email\":\"" + email + "\"}");
+    }
+
+    private SQSEvent createSqsEvent(String body) {
         SQSEvent.SQSMessage message = new SQSEvent.SQSMessage();
         message.setMessageId("test-msg-id");
-        message.setBody("{\"pk\":\"" + pk + "\",\"email\":\"" + email + "\"}");
+        message.setBody(body);
 
         SQSEvent event = new SQSEvent();
         event.setRecords(List.of(message));
@@ -71,7 +107,7 @@ public class LambdaGetFunctionTest {
                 new Task(pk, "TASK#2", "Passear com o cachorro")
         );
 
-        when(mockRepository.getTasksByPk(pk)).thenReturn(tasks);
+        when(mockRepository.streamTasksByPk(pk)).thenReturn(tasks);
 
         ArgumentCaptor<PutObjectRequest> s3RequestCaptor = ArgumentCaptor.forClass(PutObjectRequest.class);
         ArgumentCaptor<RequestBody> s3BodyCaptor = ArgumentCaptor.forClass(RequestBody.class);
@@ -79,13 +115,15 @@ public class LambdaGetFunctionTest {
 
         handler.handleRequest(event, mockContext);
 
-        verify(mockRepository, times(1)).getTasksByPk(pk);
+        // A impressão digital vem da consulta projetada; o arquivo é escrito direto na chave dela
+        verify(mockRepository, times(1)).streamTasksByPk(pk, ExportFingerprint.FIELDS);
         verify(mockS3Client, times(1)).putObject(s3RequestCaptor.capture(), s3BodyCaptor.capture());
 
         PutObjectRequest s3Request = s3RequestCaptor.getValue();
         assertEquals(FAKE_S3_BUCKET, s3Request.bucket());
-        assertTrue(s3Request.key().startsWith("exports/USER-123/"));
-        assertTrue(s3Request.key().endsWith(".csv"));
+        assertEquals("exports/USER-123/" + ExportFingerprint.of(pk, tasks.iterator()).getHash() + ".csv", s3Request.key());
+        verify(mockS3Client, never()).copyObject(any(CopyObjectRequest.class));
+        verify(mockS3Client, never()).deleteObject(any(DeleteObjectRequest.class));
 
         byte[] csvBytes = s3BodyCaptor.getValue().contentStreamProvider().newStream().readAllBytes();
         String csvContent = new String(csvBytes, StandardCharsets.UTF_8);
@@ -106,13 +144,358 @@ public class LambdaGetFunctionTest {
         String email = "milena@test.com";
         SQSEvent event = createSqsEvent(pk, email);
 
-        when(mockRepository.getTasksByPk(pk)).thenReturn(Collections.emptyList());
+        when(mockRepository.streamTasksByPk(pk)).thenReturn(Collections.emptyList());
 
         handler.handleRequest(event, mockContext);
 
-        verify(mockRepository, times(1)).getTasksByPk(pk);
+        verify(mockRepository, times(1)).streamTasksByPk(pk, ExportFingerprint.FIELDS);
         verify(mockS3Client, never()).putObject(any(PutObjectRequest.class), any(RequestBody.class));
         verify(mockSesClient, never()).sendRawEmail(any(SendRawEmailRequest.class));
         verify(mockLogger, atLeastOnce()).log(contains("Nenhuma tarefa encontrada para o pk: " + pk));
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldCompressExportWithGzip() throws IOException {
+        String pk = "USER#123";
+        SQSEvent event = createSqsEvent("{\"pk\":\"" + pk + "\",\"email\":\"milena@test.com\",\"compression\":\"gzip\"}");
+
+        when(mockRepository.streamTasksByPk(pk)).thenReturn(List.of(new Task(pk, "TASK#1", "Comprar pão")));
+
+        ArgumentCaptor<PutObjectRequest> s3RequestCaptor = ArgumentCaptor.forClass(PutObjectRequest.class);
+        ArgumentCaptor<RequestBody> s3BodyCaptor = ArgumentCaptor.forClass(RequestBody.class);
+
+        handler.handleRequest(event, mockContext);
+
+        verify(mockS3Client, times(1)).putObject(s3RequestCaptor.capture(), s3BodyCaptor.capture());
+
+        PutObjectRequest s3Request = s3RequestCaptor.getValue();
+        assertTrue(s3Request.key().endsWith(".csv.gz"));
+        assertEquals("gzip", s3Request.contentEncoding());
+
+        try (InputStream gzip = new GZIPInputStream(s3BodyCaptor.getValue().contentStreamProvider().newStream())) {
+            String csvContent = new String(gzip.readAllBytes(), StandardCharsets.UTF_8);
+            assertTrue(csvContent.contains("\"USER#123\",\"TASK#1\",\"Comprar pão\""));
+        }
+
+        verify(mockSesClient, times(1)).sendRawEmail(any(SendRawEmailRequest.class));
+    }
+
+    private SQSEvent.SQSMessage message(String messageId, String pk) {
+        SQSEvent.SQSMessage message = new SQSEvent.SQSMessage();
+        message.setMessageId(messageId);
+        message.setBody("{\"pk\":\"" + pk + "\",\"email\":\"milena@test.com\"}");
+        return message;
+    }
+
+    @Test
+    void shouldReportOnlyFailedMessages() {
+        SQSEvent event = new SQSEvent();
+        event.setRecords(List.of(message("msg-ok-1", "USER#1"), message("msg-fail", "USER#2"), message("msg-ok-2", "USER#3")));
+
+        when(mockRepository.streamTasksByPk("USER#1")).thenReturn(List.of(new Task("USER#1", "TASK#1", "Comprar pão")));
+        when(mockRepository.streamTasksByPk("USER#2")).thenThrow(new RuntimeException("DynamoDB indisponível"));
+        when(mockRepository.streamTasksByPk("USER#3")).thenReturn(List.of(new Task("USER#3", "TASK#1", "Lavar roupa")));
+
+        SQSBatchResponse response = handler.handleRequest(event, mockContext);
+
+        assertEquals(1, response.getBatchItemFailures().size());
+        assertEquals("msg-fail", response.getBatchItemFailures().get(0).getItemIdentifier());
+
+        // As mensagens depois da falha continuam sendo processadas, e cada export bem-sucedido acontece uma única vez
+        verify(mockS3Client, times(2)).putObject(any(PutObjectRequest.class), any(RequestBody.class));
+        verify(mockSesClient, times(2)).sendRawEmail(any(SendRawEmailRequest.class));
+    }
+
+    @Test
+    void shouldNotRetryMalformedOrEmptyMessages() {
+        SQSEvent event = new SQSEvent();
+        SQSEvent.SQSMessage malformed = new SQSEvent.SQSMessage();
+        malformed.setMessageId("msg-malformed");
+        malformed.setBody("{\"pk\":\"USER#1\"}");
+        event.setRecords(List.of(malformed, message("msg-empty", "USER#404")));
+
+        when(mockRepository.streamTasksByPk("USER#404")).thenReturn(Collections.emptyList());
+
+        SQSBatchResponse response = handler.handleRequest(event, mockContext);
+
+        assertTrue(response.getBatchItemFailures().isEmpty());
+    }
+
+    @Test
+    void shouldProcessRecordsConcurrently() {
+        handler = new LambdaGetFunction(mockRepository, mockS3Client, mockSesClient, FAKE_S3_BUCKET, FAKE_SES_FROM, 3);
+
+        SQSEvent event = new SQSEvent();
+        event.setRecords(List.of(message("msg-1", "USER#1"), message("msg-2", "USER#2"), message("msg-3", "USER#3")));
+
+        // Cada consulta só termina quando as três estiverem em andamento ao mesmo tempo
+        CyclicBarrier allRunning = new CyclicBarrier(3);
+        when(mockRepository.streamTasksByPk(anyString())).thenAnswer(invocation -> {
+            allRunning.await(5, TimeUnit.SECONDS);
+            String pk = invocation.getArgument(0);
+            return List.of(new Task(pk, "TASK#1", "Comprar pão"));
+        });
+
+        SQSBatchResponse response = handler.handleRequest(event, mockContext);
+
+        assertTrue(response.getBatchItemFailures().isEmpty());
+        verify(mockSesClient, times(3)).sendRawEmail(any(SendRawEmailRequest.class));
+        verify(mockLogger, times(3)).log(matches("Mensagem msg-\\d processada em \\d+ ms"));
+    }
+
+    @Test
+    void shouldReuseExistingExportWhenListIsUnchanged() {
+        String pk = "USER#123";
+        SQSEvent event = createSqsEvent(pk, "milena@test.com");
+        List<Task> tasks = List.of(new Task(pk, "TASK#1", "Comprar pão"));
+
+        when(mockRepository.streamTasksByPk(pk)).thenReturn(tasks);
+
+        String expectedKey = "exports/USER-123/" + ExportFingerprint.of(pk, tasks.iterator()).getHash() + ".csv";
+        doReturn(HeadObjectResponse.builder().contentLength(42L).build())
+                .when(mockS3Client).headObject(argThat((HeadObjectRequest request) -> request.key().equals(expectedKey)));
+        when(mockS3Client.getObjectAsBytes(GetObjectRequest.builder().bucket(FAKE_S3_BUCKET).key(expectedKey).build()))
+                .thenReturn(ResponseBytes.fromByteArray(GetObjectResponse.builder().build(), "relatorio".getBytes(StandardCharsets.UTF_8)));
+
+        SQSBatchResponse response = handler.handleRequest(event, mockContext);
+
+        assertTrue(response.getBatchItemFailures().isEmpty());
+        // O arquivo já existe com essa chave: só a consulta projetada é feita, e nada é escrito
+        verify(mockRepository, times(1)).streamTasksByPk(pk, ExportFingerprint.FIELDS);
+        verify(mockRepository, times(1)).streamTasksByPk(pk);
+        verify(mockS3Client, never()).putObject(any(PutObjectRequest.class), any(RequestBody.class));
+        verify(mockS3Client, never()).copyObject(any(CopyObjectRequest.class));
+        verify(mockSesClient, times(1)).sendRawEmail(any(SendRawEmailRequest.class));
+    }
+
+    @Test
+    void shouldMoveExportWhenListChangesBetweenReads() {
+        String pk = "USER#123";
+        SQSEvent event = createSqsEvent(pk, "milena@test.com");
+
+        Task read = new Task(pk, "TASK#1", null);
+        read.setVersion(1L);
+        Task written = new Task(pk, "TASK#1", "Comprar pão integral");
+        written.setVersion(2L);
+
+        when(mockRepository.streamTasksByPk(pk, ExportFingerprint.FIELDS)).thenReturn(List.of(read));
+        when(mockRepository.streamTasksByPk(pk)).thenReturn(List.of(written));
+
+        String readKey = "exports/USER-123/" + ExportFingerprint.of(pk, List.of(read).iterator()).getHash() + ".csv";
+        String writtenKey = "exports/USER-123/" + ExportFingerprint.of(pk, List.of(written).iterator()).getHash() + ".csv";
+        ArgumentCaptor<PutObjectRequest> s3RequestCaptor = ArgumentCaptor.forClass(PutObjectRequest.class);
+        ArgumentCaptor<CopyObjectRequest> copyCaptor = ArgumentCaptor.forClass(CopyObjectRequest.class);
+
+        SQSBatchResponse response = handler.handleRequest(event, mockContext);
+
+        assertTrue(response.getBatchItemFailures().isEmpty());
+        // Nenhuma chave fica apontando para um conteúdo diferente do seu hash
+        verify(mockS3Client).putObject(s3RequestCaptor.capture(), any(RequestBody.class));
+        assertEquals(readKey, s3RequestCaptor.getValue().key());
+        verify(mockS3Client).copyObject(copyCaptor.capture());
+        assertEquals(readKey, copyCaptor.getValue().sourceKey());
+        assertEquals(writtenKey, copyCaptor.getValue().destinationKey());
+        verify(mockS3Client).deleteObject(DeleteObjectRequest.builder().bucket(FAKE_S3_BUCKET).key(readKey).build());
+        verify(mockSesClient, times(1)).sendRawEmail(any(SendRawEmailRequest.class));
+    }
+
+    @Test
+    void shouldExportOnlyChangedItemsInDeltaMode() {
+        String pk = "LIST#123";
+        String email = "milena@test.com";
+        String since = "2026-10-01T00:00:00.000Z";
+        SQSEvent event = createSqsEvent("{\"pk\":\"" + pk + "\",\"email\":\"" + email + "\",\"mode\":\"delta\"}");
+
+        Task changed = new Task(pk, "A1", "Comprar pão");
+        changed.setUpdatedAt("2026-10-02T08:00:00.000Z");
+
+        when(mockRepository.getExportWatermark(email, pk)).thenReturn(since);
+        when(mockRepository.streamTasksUpdatedSince(pk, since)).thenReturn(List.of(changed));
+
+        ArgumentCaptor<PutObjectRequest> s3RequestCaptor = ArgumentCaptor.forClass(PutObjectRequest.class);
+
+        handler.handleRequest(event, mockContext);
+
+        verify(mockRepository, never()).streamTasksByPk(anyString());
+        verify(mockS3Client, times(1)).putObject(s3RequestCaptor.capture(), any(RequestBody.class));
+        assertTrue(s3RequestCaptor.getValue().key().startsWith("exports/LIST-123/delta-"));
+        // A marca d'água é o maior updatedAt exportado, não o instante da exportação
+        verify(mockRepository, times(1)).saveExportWatermark(email, pk, "2026-10-02T08:00:00.000Z");
+    }
+
+    @Test
+    void shouldSkipDeltaWhenOnlyBoundaryItemsAreReturned() {
+        String pk = "LIST#123";
+        String email = "milena@test.com";
+        String since = "2026-10-01T00:00:00.000Z";
+        SQSEvent event = createSqsEvent("{\"pk\":\"" + pk + "\",\"email\":\"" + email + "\",\"mode\":\"delta\"}");
+
+        // A consulta é inclusiva: o item com updatedAt igual à marca d'água já foi exportado
+        Task boundary = new Task(pk, "A1", "Comprar pão");
+        boundary.setUpdatedAt(since);
+
+        when(mockRepository.getExportWatermark(email, pk)).thenReturn(since);
+        when(mockRepository.streamTasksUpdatedSince(pk, since)).thenReturn(List.of(boundary));
+
+        handler.handleRequest(event, mockContext);
+
+        verify(mockSesClient, never()).sendRawEmail(any(SendRawEmailRequest.class));
+        verify(mockRepository, never()).saveExportWatermark(anyString(), anyString(), anyString());
+        // Decidido pela consulta projetada, antes de qualquer escrita no S3
+        verify(mockS3Client, never()).putObject(any(PutObjectRequest.class), any(RequestBody.class));
+    }
+
+    @Test
+    void shouldExportItemOnceWhenItReappearsInDeltaQuery() throws Exception {
+        String pk = "LIST#123";
+        String email = "milena@test.com";
+        String since = "2026-10-01T00:00:00.000Z";
+        SQSEvent event = createSqsEvent("{\"pk\":\"" + pk + "\",\"email\":\"" + email + "\",\"mode\":\"delta\",\"format\":\"ndjson\"}");
+
+        // Alterado durante a consulta: aparece na posição antiga e de novo com o updatedAt novo
+        Task before = new Task(pk, "A1", "Comprar pão");
+        before.setUpdatedAt("2026-10-02T08:00:00.000Z");
+        Task after = new Task(pk, "A1", "Comprar pão integral");
+        after.setUpdatedAt("2026-10-02T09:00:00.000Z");
+
+        when(mockRepository.getExportWatermark(email, pk)).thenReturn(since);
+        when(mockRepository.streamTasksUpdatedSince(pk, since)).thenReturn(List.of(before, after));
+
+        ArgumentCaptor<RequestBody> bodyCaptor = ArgumentCaptor.forClass(RequestBody.class);
+
+        handler.handleRequest(event, mockContext);
+
+        verify(mockS3Client, times(1)).putObject(any(PutObjectRequest.class), bodyCaptor.capture());
+        String ndjson = new String(bodyCaptor.getValue().contentStreamProvider().newStream().readAllBytes(), StandardCharsets.UTF_8);
+        assertEquals(1, ndjson.lines().count());
+        verify(mockRepository, times(1)).saveExportWatermark(email, pk, "2026-10-02T08:00:00.000Z");
+    }
+
+    @Test
+    void shouldExportEverythingOnFirstDelta() {
+        String pk = "LIST#123";
+        String email = "milena@test.com";
+        SQSEvent event = createSqsEvent("{\"pk\":\"" + pk + "\",\"email\":\"" + email + "\",\"mode\":\"delta\"}");
+
+        when(mockRepository.getExportWatermark(email, pk)).thenReturn(null);
+        when(mockRepository.streamTasksByPk(pk)).thenReturn(List.of(new Task(pk, "A1", "Comprar pão")));
+
+        handler.handleRequest(event, mockContext);
+
+        verify(mockRepository, never()).streamTasksUpdatedSince(anyString(), anyString());
+        verify(mockSesClient, times(1)).sendRawEmail(any(SendRawEmailRequest.class));
+        verify(mockRepository, times(1)).saveExportWatermark(eq(email), eq(pk), anyString());
+    }
+
+    @Test
+    void shouldSendPresignedLinkWhenExportExceedsAttachmentLimit() throws Exception {
+        String pk = "USER#123";
+        SQSEvent event = createSqsEvent(pk, "milena@test.com");
+        String url = "https://test-bucket.s3.amazonaws.com/exports/USER-123/relatorio.csv?X-Amz-Signature=abc";
+
+        S3Presigner mockPresigner = mock(S3Presigner.class);
+        PresignedGetObjectRequest presigned = mock(PresignedGetObjectRequest.class);
+        when(presigned.url()).thenReturn(new URL(url));
+        when(mockPresigner.presignGetObject(any(GetObjectPresignRequest.class))).thenReturn(presigned);
+        when(mockRepository.streamTasksByPk(pk)).thenReturn(List.of(new Task(pk, "TASK#1", "Comprar pão")));
+
+        // Limite de 1 byte: qualquer relatório passa do tamanho de anexo
+        handler = new LambdaGetFunction(mockRepository, mockS3Client, mockSesClient, mockPresigner, FAKE_S3_BUCKET, FAKE_SES_FROM, 1, 1);
+        ArgumentCaptor<SendRawEmailRequest> sesRequestCaptor = ArgumentCaptor.forClass(SendRawEmailRequest.class);
+
+        SQSBatchResponse response = handler.handleRequest(event, mockContext);
+
+        assertTrue(response.getBatchItemFailures().isEmpty());
+        verify(mockS3Client, times(1)).putObject(any(PutObjectRequest.class), any(RequestBody.class));
+        verify(mockSesClient).sendRawEmail(sesRequestCaptor.capture());
+
+        MimeMessage sent = new MimeMessage(Session.getDefaultInstance(new Properties()),
+                sesRequestCaptor.getValue().rawMessage().data().asInputStream());
+        MimeMultipart content = (MimeMultipart) sent.getContent();
+        // Só a parte de texto, com o link; nenhum anexo
+        assertEquals(1, content.getCount());
+        assertTrue(((String) content.getBodyPart(0).getContent()).contains(url));
+    }
+
+    @Test
+    void shouldExportEveryListOfTheAccountInOneFile() throws IOException {
+        String pk = "USER#123";
+        SQSEvent event = createSqsEvent("{\"pk\":\"" + pk + "\",\"email\":\"milena@test.com\",\"mode\":\"account\"}");
+
+        when(mockRepository.streamTasksByPk(pk)).thenReturn(List.of(
+                new Task(pk, "LIST#1", "Mercado"),
+                new Task(pk, "LIST#2", "Farmácia")));
+        when(mockRepository.getTasksByPk("LIST#1")).thenReturn(List.of(new Task("LIST#1", "A1", "Leite")));
+        when(mockRepository.getTasksByPk("LIST#2")).thenReturn(List.of(new Task("LIST#2", "B1", "Vitamina")));
+
+        ArgumentCaptor<PutObjectRequest> s3RequestCaptor = ArgumentCaptor.forClass(PutObjectRequest.class);
+        ArgumentCaptor<RequestBody> s3BodyCaptor = ArgumentCaptor.forClass(RequestBody.class);
+
+        SQSBatchResponse response = handler.handleRequest(event, mockContext);
+
+        assertTrue(response.getBatchItemFailures().isEmpty());
+        verify(mockS3Client, times(1)).putObject(s3RequestCaptor.capture(), s3BodyCaptor.capture());
+        assertTrue(s3RequestCaptor.getValue().key().startsWith("exports/USER-123/account-"));
+        assertTrue(s3RequestCaptor.getValue().key().endsWith(".csv"));
+
+        String csvContent = new String(s3BodyCaptor.getValue().contentStreamProvider().newStream().readAllBytes(), StandardCharsets.UTF_8);
+        // Cada lista vem seguida dos seus itens; a coluna listId identifica a lista em todas as linhas
+        assertTrue(csvContent.startsWith("\"listId\",\"pk\",\"sk\",\"description\""));
+        int mercado = csvContent.indexOf("\"LIST#1\",\"USER#123\",\"LIST#1\",\"Mercado\"");
+        int leite = csvContent.indexOf("\"LIST#1\",\"LIST#1\",\"A1\",\"Leite\"");
+        int farmacia = csvContent.indexOf("\"LIST#2\",\"USER#123\",\"LIST#2\",\"Farmácia\"");
+        int vitamina = csvContent.indexOf("\"LIST#2\",\"LIST#2\",\"B1\",\"Vitamina\"");
+        assertTrue(mercado >= 0 && mercado < leite && leite < farmacia && farmacia < vitamina);
+
+        verify(mockSesClient, times(1)).sendRawEmail(any(SendRawEmailRequest.class));
+    }
+
+    @Test
+    void shouldExportOneFilePerListInZipLayout() throws IOException {
+        String pk = "USER#123";
+        SQSEvent event = createSqsEvent("{\"pk\":\"" + pk + "\",\"email\":\"milena@test.com\",\"mode\":\"account\",\"layout\":\"zip\"}");
+
+        when(mockRepository.streamTasksByPk(pk)).thenReturn(List.of(
+                new Task(pk, "LIST#1", "Mercado"),
+                new Task(pk, "LIST#2", "Farmácia")));
+        when(mockRepository.getTasksByPk("LIST#1")).thenReturn(List.of(new Task("LIST#1", "A1", "Leite")));
+        when(mockRepository.getTasksByPk("LIST#2")).thenReturn(List.of());
+
+        ArgumentCaptor<PutObjectRequest> s3RequestCaptor = ArgumentCaptor.forClass(PutObjectRequest.class);
+        ArgumentCaptor<RequestBody> s3BodyCaptor = ArgumentCaptor.forClass(RequestBody.class);
+
+        handler.handleRequest(event, mockContext);
+
+        verify(mockS3Client, times(1)).putObject(s3RequestCaptor.capture(), s3BodyCaptor.capture());
+        assertTrue(s3RequestCaptor.getValue().key().endsWith(".zip"));
+        assertEquals("application/zip", s3RequestCaptor.getValue().contentType());
+
+        List<String> names = new ArrayList<>();
+        List<String> contents = new ArrayList<>();
+        try (ZipInputStream zip = new ZipInputStream(s3BodyCaptor.getValue().contentStreamProvider().newStream())) {
+            for (ZipEntry entry = zip.getNextEntry(); entry != null; entry = zip.getNextEntry()) {
+                names.add(entry.getName());
+                contents.add(new String(zip.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+
+        assertEquals(List.of("LIST-1.csv", "LIST-2.csv"), names);
+        assertTrue(contents.get(0).contains("\"LIST#1\",\"A1\",\"Leite\""));
+        assertTrue(contents.get(1).contains("\"USER#123\",\"LIST#2\",\"Farmácia\""));
+        verify(mockSesClient, times(1)).sendRawEmail(any(SendRawEmailRequest.class));
+    }
+
+    @Test
+    void shouldSkipAccountExportWithoutLists() {
+        String pk = "USER#404";
+        SQSEvent event = createSqsEvent("{\"pk\":\"" + pk + "\",\"email\":\"milena@test.com\",\"mode\":\"account\"}");
+
+        when(mockRepository.streamTasksByPk(pk)).thenReturn(Collections.emptyList());
+
+        handler.handleRequest(event, mockContext);
+
+        verify(mockS3Client, never()).putObject(any(PutObjectRequest.class), any(RequestBody.class));
+        verify(mockSesClient, never()).sendRawEmail(any(SendRawEmailRequest.class));
+        verify(mockLogger, atLeastOnce()).log(contains("Nenhuma lista encontrada para o pk: " + pk));
+    }
+}
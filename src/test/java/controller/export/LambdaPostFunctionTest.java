@@ -12,6 +12,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.core.exception.SdkClientException;
 import software.amazon.awssdk.services.sqs.SqsClient;
 import software.amazon.awssdk.services.sqs.model.SendMessageRequest;
 
@@ -64,13 +65,13 @@ public class LambdaPostFunctionTest {
 
         APIGatewayProxyResponseEvent response = handler.handleRequest(mockRequest, mockContext);
 
-        assertEquals(200, response.getStatusCode());
+        assertEquals(202, response.getStatusCode());
         assertTrue(response.getBody().contains("Sua solicitação foi processada com sucesso."));
         verify(mockSqsClient, times(1)).sendMessage(sqsRequestCaptor.capture());
 
-        SendMessageRequest sentMessage = sqsRequestCaptor.getValue();
-        assertEquals(FAKE_SQS_URL, sentMessage.queueUrl());
-        Map<String, String> messageBody = gson.fromJson(sentMessage.messageBody(), Map.class);
+        SendMessageRequest sent = sqsRequestCaptor.getValue();
+        assertEquals(FAKE_SQS_URL, sent.queueUrl());
+        Map<String, String> messageBody = gson.fromJson(sent.messageBody(), Map.class);
         assertEquals(pk, messageBody.get("pk"));
         assertEquals(email, messageBody.get("email"));
 
@@ -92,7 +93,82 @@ public class LambdaPostFunctionTest {
         String expectedJsonSubstring = "\"erro\":\"Query parameter 'pk' é obrigatório\"";
         assertTrue(response.getBody().contains(expectedJsonSubstring));
 
-        verify(mockSqsClient, never()).sendMessage(any(SendMessageRequest.class));
+        verifyNoInteractions(mockSqsClient);
     }
 
+    private APIGatewayProxyRequestEvent authenticatedRequest(Map<String, String> queryParams) {
+        Map<String, Object> claimsMap = Map.of("email", (Object) "test@example.com");
+        Map<String, Object> authorizerMap = Map.of("claims", (Object) claimsMap);
+
+        APIGatewayProxyRequestEvent mockRequest = mock(APIGatewayProxyRequestEvent.class);
+        APIGatewayProxyRequestEvent.ProxyRequestContext mockRequestContext =
+                mock(APIGatewayProxyRequestEvent.ProxyRequestContext.class);
+
+        when(mockRequest.getRequestContext()).thenReturn(mockRequestContext);
+        when(mockRequestContext.getAuthorizer()).thenReturn(authorizerMap);
+        when(mockRequest.getQueryStringParameters()).thenReturn(queryParams);
+        return mockRequest;
+    }
+
+    @Test
+    void shouldSendCompressionInMessage() {
+        APIGatewayProxyRequestEvent mockRequest = authenticatedRequest(Map.of("pk", "USER#12345", "compression", "GZIP"));
+
+        ArgumentCaptor<SendMessageRequest> sqsRequestCaptor = ArgumentCaptor.forClass(SendMessageRequest.class);
+
+        APIGatewayProxyResponseEvent response = handler.handleRequest(mockRequest, mockContext);
+
+        assertEquals(202, response.getStatusCode());
+        verify(mockSqsClient, times(1)).sendMessage(sqsRequestCaptor.capture());
+
+        Map<String, String> messageBody = gson.fromJson(sqsRequestCaptor.getValue().messageBody(), Map.class);
+        assertEquals("gzip", messageBody.get("compression"));
+    }
+
+    @Test
+    void shouldReturnFailInvalidCompression() {
+        APIGatewayProxyRequestEvent mockRequest = authenticatedRequest(Map.of("pk", "USER#12345", "compression", "rar"));
+
+        APIGatewayProxyResponseEvent response = handler.handleRequest(mockRequest, mockContext);
+
+        assertEquals(400, response.getStatusCode());
+        verifyNoInteractions(mockSqsClient);
+    }
+
+    @Test
+    void shouldSendAccountModeAndLayoutInMessage() {
+        APIGatewayProxyRequestEvent mockRequest = authenticatedRequest(Map.of("pk", "USER#12345", "mode", "account", "layout", "zip"));
+
+        ArgumentCaptor<SendMessageRequest> sqsRequestCaptor = ArgumentCaptor.forClass(SendMessageRequest.class);
+
+        APIGatewayProxyResponseEvent response = handler.handleRequest(mockRequest, mockContext);
+
+        assertEquals(202, response.getStatusCode());
+        verify(mockSqsClient, times(1)).sendMessage(sqsRequestCaptor.capture());
+
+        Map<String, String> messageBody = gson.fromJson(sqsRequestCaptor.getValue().messageBody(), Map.class);
+        assertEquals("account", messageBody.get("mode"));
+        assertEquals("zip", messageBody.get("layout"));
+    }
+
+    @Test
+    void shouldReturnFailAccountModeWithListPk() {
+        APIGatewayProxyRequestEvent mockRequest = authenticatedRequest(Map.of("pk", "LIST#1", "mode", "account"));
+
+        APIGatewayProxyResponseEvent response = handler.handleRequest(mockRequest, mockContext);
+
+        assertEquals(400, response.getStatusCode());
+        verifyNoInteractions(mockSqsClient);
+    }
+
+    @Test
+    void shouldReturnFailWhenQueueIsUnavailable() {
+        APIGatewayProxyRequestEvent mockRequest = authenticatedRequest(Map.of("pk", "USER#12345"));
+        when(mockSqsClient.sendMessage(any(SendMessageRequest.class))).thenThrow(SdkClientException.create("timeout"));
+
+        APIGatewayProxyResponseEvent response = handler.handleRequest(mockRequest, mockContext);
+
+        assertEquals(500, response.getStatusCode());
+        assertTrue(response.getBody().contains("Erro ao enfileirar solicitação."));
+    }
 }
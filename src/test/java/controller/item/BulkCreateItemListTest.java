@@ -0,0 +1,125 @@
+package controller.item;
+
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.LambdaLogger;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import model.Task;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import repository.BatchOutcome;
+import repository.TaskRepository;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class BulkCreateItemListTest {
+    @Mock
+    private Context context;
+
+    @Mock
+    private LambdaLogger logger;
+
+    @Mock
+    private TaskRepository repository;
+
+    private BulkCreateItemList bulkCreateItemList;
+    private final Gson gson = new Gson();
+
+    @BeforeEach
+    void setUp(){
+        bulkCreateItemList = new BulkCreateItemList(repository, gson);
+        when(context.getLogger()).thenReturn(logger);
+    }
+
+    private APIGatewayProxyRequestEvent requestWith(String... descriptions) {
+        JsonArray items = new JsonArray();
+        for (String description : descriptions) {
+            JsonObject item = new JsonObject();
+            item.addProperty("description", description);
+            items.add(item);
+        }
+        JsonObject body = new JsonObject();
+        body.addProperty("pk", "USER#milena");
+        body.addProperty("sk", "LIST#123");
+        body.add("items", items);
+
+        APIGatewayProxyRequestEvent requestEvent = new APIGatewayProxyRequestEvent();
+        requestEvent.setBody(body.toString());
+        return requestEvent;
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldReturnHTTPStatus201WhenAllItemsAreCreated(){
+        when(repository.skListExists("USER#milena", "LIST#123")).thenReturn(true);
+        when(repository.createItemsInList(eq("USER#milena"), eq("LIST#123"), anyList())).thenAnswer(invocation ->
+                new BatchOutcome<>(invocation.getArgument(2), List.of()));
+
+        APIGatewayProxyResponseEvent responseEvent = bulkCreateItemList.handleRequest(requestWith("Pão", "Leite"), context);
+
+        assertEquals(201, responseEvent.getStatusCode());
+
+        ArgumentCaptor<List<Task>> captor = ArgumentCaptor.forClass(List.class);
+        verify(repository).createItemsInList(eq("USER#milena"), eq("LIST#123"), captor.capture());
+        assertEquals(2, captor.getValue().size());
+        assertEquals("LIST#123", captor.getValue().get(0).getPk());
+        assertEquals("Leite", captor.getValue().get(1).getDescription());
+
+        JsonObject body = gson.fromJson(responseEvent.getBody(), JsonObject.class);
+        assertEquals(2, body.get("created").getAsInt());
+        assertEquals("CREATED", body.getAsJsonArray("items").get(1).getAsJsonObject().get("status").getAsString());
+    }
+
+    @Test
+    void shouldReturnHTTPStatus207WhenSomeItemsFail(){
+        when(repository.skListExists("USER#milena", "LIST#123")).thenReturn(true);
+        when(repository.createItemsInList(eq("USER#milena"), eq("LIST#123"), anyList())).thenAnswer(invocation -> {
+            List<Task> items = invocation.getArgument(2);
+            return new BatchOutcome<>(items.subList(0, 1), items.subList(1, 2));
+        });
+
+        APIGatewayProxyResponseEvent responseEvent = bulkCreateItemList.handleRequest(requestWith("Pão", "Leite"), context);
+
+        assertEquals(207, responseEvent.getStatusCode());
+
+        JsonObject body = gson.fromJson(responseEvent.getBody(), JsonObject.class);
+        assertEquals(1, body.get("failed").getAsInt());
+        JsonObject failed = body.getAsJsonArray("items").get(1).getAsJsonObject();
+        assertEquals(1, failed.get("index").getAsInt());
+        assertEquals("FAILED", failed.get("status").getAsString());
+    }
+
+    @Test
+    void shouldReturnHTTPStatus400WhenListDoesNotExist(){
+        when(repository.skListExists("USER#milena", "LIST#123")).thenReturn(false);
+
+        APIGatewayProxyResponseEvent responseEvent = bulkCreateItemList.handleRequest(requestWith("Pão"), context);
+
+        assertEquals(400, responseEvent.getStatusCode());
+        verify(repository, never()).createItemsInList(any(), any(), any());
+    }
+
+    @Test
+    void shouldReturnHTTPStatus400WhenItemsAreMissing(){
+        APIGatewayProxyResponseEvent responseEvent = bulkCreateItemList.handleRequest(requestWith(), context);
+
+        assertEquals(400, responseEvent.getStatusCode());
+        verify(repository, never()).skListExists(any(), any());
+    }
+}
@@ -0,0 +1,112 @@
+package controller.item;
+
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.LambdaLogger;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import repository.BatchOutcome;
+import repository.TaskRepository;
+import software.amazon.awssdk.enhanced.dynamodb.Key;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class BulkDeleteItemListTest {
+    @Mock
+    private Context context;
+
+    @Mock
+    private LambdaLogger logger;
+
+    @Mock
+    private TaskRepository repository;
+
+    private final Gson gson = new Gson();
+
+    private BulkDeleteItemList bulkDeleteItemList;
+
+    @BeforeEach
+    void setUp(){
+        bulkDeleteItemList = new BulkDeleteItemList(repository, gson);
+        when(context.getLogger()).thenReturn(logger);
+    }
+
+    private APIGatewayProxyRequestEvent requestWith(String body) {
+        APIGatewayProxyRequestEvent requestEvent = new APIGatewayProxyRequestEvent();
+        requestEvent.setBody(body);
+        return requestEvent;
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldDeleteItemsBySk(){
+        when(repository.deleteItemsInList(eq("LIST#123"), anyList())).thenAnswer(invocation -> {
+            List<String> sks = invocation.getArgument(1);
+            List<Key> keys = sks.stream().map(sk -> Key.builder().partitionValue("LIST#123").sortValue(sk).build()).toList();
+            return new BatchOutcome<>(keys, List.of());
+        });
+
+        APIGatewayProxyResponseEvent responseEvent = bulkDeleteItemList.handleRequest(
+                requestWith("{\"pk\":\"LIST#123\",\"sks\":[\"A1\",\"B2\",\"A1\"]}"), context);
+
+        assertEquals(200, responseEvent.getStatusCode());
+
+        ArgumentCaptor<List<String>> captor = ArgumentCaptor.forClass(List.class);
+        verify(repository).deleteItemsInList(eq("LIST#123"), captor.capture());
+        assertEquals(List.of("A1", "B2"), captor.getValue());
+
+        JsonObject body = gson.fromJson(responseEvent.getBody(), JsonObject.class);
+        assertEquals(2, body.get("deleted").getAsInt());
+        assertEquals(0, body.get("failed").getAsInt());
+    }
+
+    @Test
+    void shouldDeleteItemsMatchingDescription(){
+        when(repository.findSksByDescription("LIST#123", "feito")).thenReturn(List.of("A1"));
+        when(repository.deleteItemsInList("LIST#123", List.of("A1"))).thenReturn(
+                new BatchOutcome<>(List.of(), List.of(Key.builder().partitionValue("LIST#123").sortValue("A1").build())));
+
+        APIGatewayProxyResponseEvent responseEvent = bulkDeleteItemList.handleRequest(
+                requestWith("{\"pk\":\"LIST#123\",\"descriptionContains\":\"feito\"}"), context);
+
+        assertEquals(207, responseEvent.getStatusCode());
+
+        JsonObject body = gson.fromJson(responseEvent.getBody(), JsonObject.class);
+        assertEquals(1, body.get("failed").getAsInt());
+        assertEquals("A1", body.getAsJsonArray("failedSks").get(0).getAsString());
+    }
+
+    @Test
+    void shouldReturn400WhenBothSelectorsAreGiven(){
+        APIGatewayProxyResponseEvent responseEvent = bulkDeleteItemList.handleRequest(
+                requestWith("{\"pk\":\"LIST#123\",\"sks\":[\"A1\"],\"descriptionContains\":\"feito\"}"), context);
+
+        assertEquals(400, responseEvent.getStatusCode());
+        verify(repository, never()).deleteItemsInList(any(), any());
+    }
+
+    @Test
+    void shouldReturn400WhenPkIsNotAList(){
+        APIGatewayProxyResponseEvent responseEvent = bulkDeleteItemList.handleRequest(
+                requestWith("{\"pk\":\"USER#milena\",\"sks\":[\"LIST#123\"]}"), context);
+
+        assertEquals(400, responseEvent.getStatusCode());
+        verify(repository, never()).deleteItemsInList(any(), any());
+    }
+}
@@ -9,15 +9,17 @@ import model.Task;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import repository.TaskRepository;
-import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
 
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -29,9 +31,6 @@ public class CreateItemListTest {
     @Mock
     private LambdaLogger logger;
 
-    @Mock
-    private DynamoDbTable<Task> table;
-
     @Mock
     private TaskRepository repository;
 
@@ -40,7 +39,7 @@ public class CreateItemListTest {
 
     @BeforeEach
     void setUp(){
-        createItemList = new CreateItemList(table,repository,gson);
+        createItemList = new CreateItemList(repository,gson);
         when(context.getLogger()).thenReturn(logger);
     }
 
@@ -54,12 +53,29 @@ public class CreateItemListTest {
         APIGatewayProxyRequestEvent requestEvent = new APIGatewayProxyRequestEvent();
         requestEvent.setBody(gson.toJson(item));
 
-        when(repository.skListExists("USER#milena","LIST#123")).thenReturn(true);
+        when(repository.createItemInList(eq("USER#milena"), eq("LIST#123"), any(Task.class))).thenReturn(true);
 
         APIGatewayProxyResponseEvent responseEvent = createItemList.handleRequest(requestEvent,context);
 
         assertEquals(200, responseEvent.getStatusCode());
 
-        verify(table).putItem(any(Task.class));
+        ArgumentCaptor<Task> itemCaptor = ArgumentCaptor.forClass(Task.class);
+        verify(repository).createItemInList(eq("USER#milena"), eq("LIST#123"), itemCaptor.capture());
+        assertEquals("LIST#123", itemCaptor.getValue().getPk());
+        verify(repository, never()).skListExists(any(), any());
+    }
+
+    @Test
+    void shouldReturnHTTPStatus400WhenListDoesNotExist(){
+        Task item = new Task("USER#milena", "LIST#404", "Este é um teste");
+
+        APIGatewayProxyRequestEvent requestEvent = new APIGatewayProxyRequestEvent();
+        requestEvent.setBody(gson.toJson(item));
+
+        when(repository.createItemInList(eq("USER#milena"), eq("LIST#404"), any(Task.class))).thenReturn(false);
+
+        APIGatewayProxyResponseEvent responseEvent = createItemList.handleRequest(requestEvent,context);
+
+        assertEquals(400, responseEvent.getStatusCode());
     }
 }
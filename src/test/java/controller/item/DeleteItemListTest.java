@@ -5,16 +5,12 @@ import com.amazonaws.services.lambda.runtime.LambdaLogger;
 import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
 import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
 import com.google.gson.Gson;
-import model.Task;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import repository.TaskRepository;
-import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
-import software.amazon.awssdk.enhanced.dynamodb.Key;
 
 import java.util.Map;
 
@@ -30,9 +26,6 @@ public class DeleteItemListTest {
     @Mock
     private LambdaLogger logger;
 
-    @Mock
-    private DynamoDbTable<Task> table;
-
     @Mock
     private TaskRepository repository;
 
@@ -42,7 +35,7 @@ public class DeleteItemListTest {
 
     @BeforeEach
     void setUp(){
-        deleteItemList = new DeleteItemList(table,repository);
+        deleteItemList = new DeleteItemList(repository);
         when(context.getLogger()).thenReturn(logger);
     }
 
@@ -58,14 +51,7 @@ public class DeleteItemListTest {
 
         assertEquals(204, responseEvent.getStatusCode());
 
-        //Vai pegar o elemento key
-        ArgumentCaptor<Key> keyCaptor = ArgumentCaptor.forClass(Key.class);
-
-        verify(table).deleteItem(keyCaptor.capture());
-
-        Key capturedKey = keyCaptor.getValue();
-        assertEquals(pk, capturedKey.partitionKeyValue().s());
-        assertEquals(sk, capturedKey.sortKeyValue().get().s());
+        verify(repository).deleteTask(pk, sk);
 
     }
 }
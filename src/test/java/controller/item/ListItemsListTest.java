@@ -14,6 +14,9 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import repository.TaskRepository;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
+import software.amazon.awssdk.enhanced.dynamodb.model.Page;
+import util.ApiResponse;
+import util.Pagination;
 
 import java.lang.reflect.Type;
 import java.util.List;
@@ -55,20 +58,20 @@ public class ListItemsListTest {
         item.setPk(pkList);
 
         List<Task> itemsList = List.of(item);
-        when(repository.getTasksByPk(pkList)).thenReturn(itemsList);
+        when(repository.getTasksPageByPk(pkList, Pagination.DEFAULT_LIMIT, null, null)).thenReturn(Page.create(itemsList));
 
         APIGatewayProxyRequestEvent requestEvent =  new APIGatewayProxyRequestEvent();
         requestEvent.setQueryStringParameters(Map.of("pk", pkList));
 
         APIGatewayProxyResponseEvent responseEvent = listItemsList.handleRequest(requestEvent, context);
 
-        Type itemsListType = new TypeToken<List<Task>>(){}.getType();
-        List<Task> responseItemsList = gson.fromJson(responseEvent.getBody(), itemsListType);
+        Type itemsPageType = new TypeToken<ApiResponse<List<Task>>>(){}.getType();
+        ApiResponse<List<Task>> responseItemsPage = gson.fromJson(responseEvent.getBody(), itemsPageType);
 
-        assertEquals(itemsList, responseItemsList);
+        assertEquals(itemsList, responseItemsPage.getData());
         assertEquals(200, responseEvent.getStatusCode());
 
-        verify(repository).getTasksByPk(pkList);
+        verify(repository).getTasksPageByPk(pkList, Pagination.DEFAULT_LIMIT, null, null);
 
     }
 }
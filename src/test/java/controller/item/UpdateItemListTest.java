@@ -10,19 +10,18 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
-import software.amazon.awssdk.enhanced.dynamodb.Key;
+import repository.TaskRepository;
+import repository.VersionConflictException;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
-import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 public class UpdateItemListTest {
 
     @Mock
-    private DynamoDbTable<Task> table;
+    private TaskRepository repository;
     @Mock
     private Context context;
     @Mock
@@ -32,14 +31,15 @@ public class UpdateItemListTest {
 
     @BeforeEach
     void setUp(){
-        updateItemList = new UpdateItemList(table);
+        updateItemList = new UpdateItemList(repository);
         when(context.getLogger()).thenReturn(logger);
     }
 
     @Test
     void shouldReturnHTTPStatus200(){
-        Task item = new Task("LIST#123", "A1B2C3", "old description");
-        when(table.getItem(any(Key.class))).thenReturn(item);
+        Task item = new Task("LIST#123", "A1B2C3", "new description");
+        item.setVersion(2L);
+        when(repository.updateDescription("LIST#123", "A1B2C3", "new description", null)).thenReturn(item);
 
         APIGatewayProxyRequestEvent request =  new APIGatewayProxyRequestEvent()
                 .withPathParameters(java.util.Map.of("pk","LIST#123", "sk", "A1B2C3"))
@@ -49,7 +49,76 @@ public class UpdateItemListTest {
 
         assertEquals(200, response.getStatusCode());
         assertTrue(response.getBody().contains("new description"));
-        verify(table, times(1)).putItem(any(Task.class));
+        verify(repository, times(1)).updateDescription("LIST#123", "A1B2C3", "new description", null);
 
     }
+
+    @Test
+    void shouldReturnHTTPStatus409WhenVersionIsStale(){
+        when(repository.updateDescription("LIST#123", "A1B2C3", "new description", 4L))
+                .thenThrow(new VersionConflictException("O item foi alterado por outra requisição"));
+
+        APIGatewayProxyRequestEvent request =  new APIGatewayProxyRequestEvent()
+                .withPathParameters(java.util.Map.of("pk","LIST#123", "sk", "A1B2C3"))
+                .withBody("{\"description\":\"new description\",\"version\":4}");
+
+        APIGatewayProxyResponseEvent response = updateItemList.handleRequest(request, context);
+
+        assertEquals(409, response.getStatusCode());
+    }
+
+    @Test
+    void shouldUpdateDoneAndCountersWhenDoneIsSent(){
+        Task item = new Task("LIST#123", "A1B2C3", "description");
+        item.setDone(true);
+        when(repository.updateItem("LIST#123", "A1B2C3", null, true, null)).thenReturn(item);
+
+        APIGatewayProxyRequestEvent request =  new APIGatewayProxyRequestEvent()
+                .withPathParameters(java.util.Map.of("pk","LIST#123", "sk", "A1B2C3"))
+                .withBody("{\"done\":true}");
+
+        APIGatewayProxyResponseEvent response = updateItemList.handleRequest(request, context);
+
+        assertEquals(200, response.getStatusCode());
+        assertTrue(response.getBody().contains("\"done\":true"));
+        verify(repository, never()).updateDescription(any(), any(), any(), any());
+    }
+
+    @Test
+    void shouldReturnHTTPStatus400WhenVersionIsNotANumber(){
+        for (String version : new String[]{"{}", "true", "1.5", "\"abc\""}) {
+            APIGatewayProxyRequestEvent request =  new APIGatewayProxyRequestEvent()
+                    .withPathParameters(java.util.Map.of("pk","LIST#123", "sk", "A1B2C3"))
+                    .withBody("{\"description\":\"new description\",\"version\":" + version + "}");
+
+            APIGatewayProxyResponseEvent response = updateItemList.handleRequest(request, context);
+
+            assertEquals(400, response.getStatusCode(), version);
+        }
+        verify(repository, never()).updateDescription(any(), any(), any(), any());
+    }
+
+    @Test
+    void shouldReturnHTTPStatus400WhenDescriptionIsNullWithoutDone(){
+        APIGatewayProxyRequestEvent request =  new APIGatewayProxyRequestEvent()
+                .withPathParameters(java.util.Map.of("pk","LIST#123", "sk", "A1B2C3"))
+                .withBody("{\"description\":null}");
+
+        APIGatewayProxyResponseEvent response = updateItemList.handleRequest(request, context);
+
+        assertEquals(400, response.getStatusCode());
+        verify(repository, never()).updateDescription(any(), any(), any(), any());
+    }
+
+    @Test
+    void shouldReturnHTTPStatus400WhenDoneIsNotBoolean(){
+        APIGatewayProxyRequestEvent request =  new APIGatewayProxyRequestEvent()
+                .withPathParameters(java.util.Map.of("pk","LIST#123", "sk", "A1B2C3"))
+                .withBody("{\"done\":\"sim\"}");
+
+        APIGatewayProxyResponseEvent response = updateItemList.handleRequest(request, context);
+
+        assertEquals(400, response.getStatusCode());
+        verify(repository, never()).updateItem(any(), any(), any(), anyBoolean(), any());
+    }
 }
@@ -0,0 +1,128 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.enhanced.dynamodb.TableMetadata;
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class TaskSchemaTest {
+
+    private final TableSchema<Task> beanSchema = TableSchema.fromBean(Task.class);
+    private final TableSchema<Task> staticSchema = TaskSchema.TABLE_SCHEMA;
+
+    @Test
+    void shouldWriteSameAttributesAsBeanSchema() {
+        Task task = new Task("USER#milena", "LIST#123", "Comprar pão");
+
+        assertEquals(beanSchema.itemToMap(task, false), staticSchema.itemToMap(task, false));
+        assertEquals(beanSchema.itemToMap(task, true), staticSchema.itemToMap(task, true));
+    }
+
+    @Test
+    void shouldWriteVersionLikeBeanSchema() {
+        Task task = new Task("USER#milena", "LIST#123", "Comprar pão");
+        task.setVersion(3L);
+
+        assertEquals(beanSchema.itemToMap(task, true), staticSchema.itemToMap(task, true));
+        assertEquals(task, staticSchema.mapToItem(beanSchema.itemToMap(task, true)));
+    }
+
+    @Test
+    void shouldWriteUpdatedAtLikeBeanSchema() {
+        Task task = new Task("LIST#123", "A1B2C3", "Comprar pão");
+        task.setUpdatedAt("2026-10-17T12:00:00Z");
+
+        assertEquals(beanSchema.itemToMap(task, true), staticSchema.itemToMap(task, true));
+        assertEquals(task, staticSchema.mapToItem(beanSchema.itemToMap(task, true)));
+    }
+
+    @Test
+    void shouldIgnoreNullsLikeBeanSchema() {
+        Task task = new Task("LIST#123", "A1B2C3", null);
+
+        assertEquals(beanSchema.itemToMap(task, true), staticSchema.itemToMap(task, true));
+        assertEquals(beanSchema.itemToMap(task, false), staticSchema.itemToMap(task, false));
+    }
+
+    @Test
+    void shouldRoundTripLikeBeanSchema() {
+        Task task = new Task("USER#milena", "LIST#123", "Comprar pão");
+
+        Map<String, AttributeValue> item = beanSchema.itemToMap(task, true);
+
+        assertEquals(task, staticSchema.mapToItem(item));
+        assertEquals(beanSchema.mapToItem(item), staticSchema.mapToItem(staticSchema.itemToMap(task, true)));
+    }
+
+    @Test
+    void shouldMapFullyPopulatedTaskLikeBeanSchema() {
+        Task task = new Task("LIST#123", "A1B2C3", "Comprar pão");
+        task.setVersion(7L);
+        task.setUpdatedAt("2026-10-17T12:00:00.000Z");
+        task.setDone(true);
+        task.setOwnerPk("USER#milena");
+        task.setItemCount(12L);
+        task.setDoneCount(5L);
+
+        assertSameMapping(task);
+    }
+
+    @Test
+    void shouldMapSparseTaskLikeBeanSchema() {
+        // Só as chaves e um atributo de cada tipo que pode faltar no item (Long, Boolean)
+        Task task = new Task("USER#milena", "LIST#123", null);
+        task.setDone(false);
+        task.setItemCount(0L);
+
+        assertSameMapping(task);
+        assertSameMapping(new Task("USER#milena", "LIST#123", null));
+    }
+
+    @Test
+    void shouldReadAbsentAndNullAttributesLikeBeanSchema() {
+        Map<String, AttributeValue> item = new HashMap<>();
+        item.put("pk", AttributeValue.builder().s("LIST#123").build());
+        item.put("sk", AttributeValue.builder().s("A1B2C3").build());
+        item.put("done", AttributeValue.builder().nul(true).build());
+        item.put("version", AttributeValue.builder().nul(true).build());
+
+        Task fromStatic = staticSchema.mapToItem(item);
+
+        assertEquals(beanSchema.mapToItem(item), fromStatic);
+        assertNull(fromStatic.getDone());
+        assertNull(fromStatic.getVersion());
+        assertNull(fromStatic.getItemCount());
+    }
+
+    // Os dois schemas escrevem o mesmo item (com e sem nulos) e leem de volta o mesmo Task
+    private void assertSameMapping(Task task) {
+        Map<String, AttributeValue> withoutNulls = staticSchema.itemToMap(task, true);
+        Map<String, AttributeValue> withNulls = staticSchema.itemToMap(task, false);
+
+        assertEquals(beanSchema.itemToMap(task, true), withoutNulls);
+        assertEquals(beanSchema.itemToMap(task, false), withNulls);
+        assertEquals(task, staticSchema.mapToItem(withoutNulls));
+        assertEquals(task, staticSchema.mapToItem(withNulls));
+        assertEquals(beanSchema.mapToItem(withoutNulls), staticSchema.mapToItem(withoutNulls));
+        assertEquals(beanSchema.mapToItem(withNulls), staticSchema.mapToItem(withNulls));
+    }
+
+    @Test
+    void shouldExposeSameKeysAndAttributes() {
+        TableMetadata beanMetadata = beanSchema.tableMetadata();
+        TableMetadata staticMetadata = staticSchema.tableMetadata();
+
+        assertEquals(beanMetadata.primaryPartitionKey(), staticMetadata.primaryPartitionKey());
+        assertEquals(beanMetadata.primarySortKey(), staticMetadata.primarySortKey());
+        assertEquals(new HashSet<>(beanSchema.attributeNames()), new HashSet<>(staticSchema.attributeNames()));
+        assertEquals(beanMetadata.indexPartitionKey(TaskSchema.UPDATED_AT_INDEX), staticMetadata.indexPartitionKey(TaskSchema.UPDATED_AT_INDEX));
+        assertEquals(beanMetadata.indexSortKey(TaskSchema.UPDATED_AT_INDEX), staticMetadata.indexSortKey(TaskSchema.UPDATED_AT_INDEX));
+    }
+}
@@ -0,0 +1,166 @@
+package repository;
+
+import model.Task;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
+import software.amazon.awssdk.enhanced.dynamodb.Key;
+import software.amazon.awssdk.enhanced.dynamodb.model.GetItemEnhancedRequest;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.TransactWriteItemsRequest;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class CachingTaskRepositoryTest {
+
+    @Mock
+    private DynamoDbTable<Task> table;
+    @Mock
+    private DynamoDbClient client;
+
+    private final AtomicLong now = new AtomicLong();
+    private CachingTaskRepository repository;
+
+    private static final String PK = "USER#milena";
+    private static final String SK = "LIST#123";
+
+    @BeforeEach
+    void setUp() {
+        repository = new CachingTaskRepository(table, client,
+                2, Duration.ofSeconds(30), Duration.ofSeconds(5), now::get);
+    }
+
+    @Test
+    void shouldServeRepeatedLookupsFromMemory() {
+        when(table.getItem(any(Key.class))).thenReturn(new Task(PK, SK, "Mercado"));
+
+        assertTrue(repository.skListExists(PK, SK));
+        assertTrue(repository.skListExists(PK, SK));
+        assertEquals("Mercado", repository.getTask(PK, SK).get(0).getDescription());
+
+        verify(table, times(1)).getItem(any(Key.class));
+        assertEquals(2, repository.getHits());
+        assertEquals(1, repository.getMisses());
+    }
+
+    @Test
+    void shouldExpireEntriesAfterTtl() {
+        when(table.getItem(any(Key.class))).thenReturn(new Task(PK, SK, "Mercado"));
+
+        repository.getTask(PK, SK);
+        now.addAndGet(Duration.ofSeconds(31).toNanos());
+        repository.getTask(PK, SK);
+
+        verify(table, times(2)).getItem(any(Key.class));
+    }
+
+    @Test
+    void shouldCacheMissingKeysForShorterTime() {
+        when(table.getItem(any(Key.class))).thenReturn(null);
+
+        assertFalse(repository.skListExists(PK, SK));
+        now.addAndGet(Duration.ofSeconds(4).toNanos());
+        assertFalse(repository.skListExists(PK, SK));
+        verify(table, times(1)).getItem(any(Key.class));
+
+        now.addAndGet(Duration.ofSeconds(2).toNanos());
+        assertFalse(repository.skListExists(PK, SK));
+        verify(table, times(2)).getItem(any(Key.class));
+    }
+
+    @Test
+    void shouldEvictLeastRecentlyUsedEntry() {
+        when(table.getItem(any(Key.class))).thenReturn(new Task(PK, SK, "Mercado"));
+
+        repository.getTask(PK, "LIST#1");
+        repository.getTask(PK, "LIST#2");
+        repository.getTask(PK, "LIST#1");
+        repository.getTask(PK, "LIST#3");
+
+        assertEquals(2, repository.size());
+        repository.getTask(PK, "LIST#1");
+        repository.getTask(PK, "LIST#2");
+        // LIST#1 continuou em cache; LIST#2 foi o descartado e precisou ser lido de novo
+        verify(table, times(4)).getItem(any(Key.class));
+    }
+
+    @Test
+    void shouldInvalidateOnDelete() {
+        when(table.getItem(any(Key.class))).thenReturn(new Task(PK, SK, "Mercado"), (Task) null);
+        when(table.getItem(any(GetItemEnhancedRequest.class))).thenReturn(new Task(PK, SK, "Mercado"));
+
+        assertTrue(repository.skListExists(PK, SK));
+        repository.deleteTask(PK, SK);
+
+        assertFalse(repository.skListExists(PK, SK));
+        verify(table).deleteItem(any(Key.class));
+        verify(table, times(2)).getItem(any(Key.class));
+    }
+
+    @Test
+    void shouldSkipTransactionWhenParentIsKnownMissing() {
+        when(table.getItem(any(Key.class))).thenReturn(null);
+
+        assertFalse(repository.skListExists(PK, SK));
+        assertFalse(repository.createItemInList(PK, SK, new Task("LIST#123", "A1", "Leite")));
+
+        verify(client, never()).transactWriteItems(any(TransactWriteItemsRequest.class));
+        assertEquals(List.of(), repository.getTask(PK, SK));
+    }
+
+    @Test
+    void shouldInvalidateListHeaderWhenItemChanges() {
+        Task header = new Task(PK, SK, "Mercado");
+        header.setItemCount(1L);
+        when(table.getItem(any(Key.class))).thenReturn(header);
+        when(table.getItem(any(GetItemEnhancedRequest.class))).thenReturn(null);
+
+        repository.getTask(PK, SK);
+        // Item da lista LIST#123: o cabeçalho (USER#milena, LIST#123) sai do cache
+        repository.deleteTask(SK, "A1");
+        repository.getTask(PK, SK);
+
+        verify(table, times(2)).getItem(any(Key.class));
+    }
+
+    @Test
+    void shouldNotShareCachedInstancesWithCallers() {
+        Task stored = new Task(PK, SK, "Mercado");
+        when(table.getItem(any(Key.class))).thenReturn(stored);
+
+        Task first = repository.getTask(PK, SK).get(0);
+        first.setDescription("Alterado por quem leu");
+        stored.setDescription("Alterado depois da leitura");
+        Task second = repository.getTask(PK, SK).get(0);
+
+        assertEquals("Mercado", second.getDescription());
+        assertNotSame(first, second);
+        verify(table, times(1)).getItem(any(Key.class));
+    }
+
+    @Test
+    void shouldSummarizeCounters() {
+        when(table.getItem(any(Key.class))).thenReturn(new Task(PK, SK, "Mercado"));
+
+        repository.getTask(PK, SK);
+        repository.getTask(PK, SK);
+
+        assertEquals("Cache de tarefas: 1 acertos, 1 faltas, 1 entradas", repository.stats());
+    }
+}
@@ -0,0 +1,332 @@
+package repository;
+
+import model.Task;
+import model.TaskSchema;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
+import software.amazon.awssdk.enhanced.dynamodb.Key;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.BatchGetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.BatchGetItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.CancellationReason;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
+import software.amazon.awssdk.services.dynamodb.model.KeysAndAttributes;
+import software.amazon.awssdk.services.dynamodb.model.ReturnValuesOnConditionCheckFailure;
+import software.amazon.awssdk.services.dynamodb.model.TransactWriteItem;
+import software.amazon.awssdk.services.dynamodb.model.TransactWriteItemsRequest;
+import software.amazon.awssdk.services.dynamodb.model.TransactWriteItemsResponse;
+import software.amazon.awssdk.services.dynamodb.model.TransactionCanceledException;
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemResponse;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class TaskRepositoryTest {
+
+    @Mock
+    private DynamoDbTable<Task> table;
+    @Mock
+    private DynamoDbClient client;
+
+    private TaskRepository repository;
+
+    private static final String TABLE = "tasks";
+    private static final String OWNER = "USER#milena";
+    private static final String LIST = "LIST#123";
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(table.tableName()).thenReturn(TABLE);
+        lenient().when(table.tableSchema()).thenReturn(TaskSchema.TABLE_SCHEMA);
+        repository = new TaskRepository(table, client);
+    }
+
+    @Test
+    void shouldCreateItemsInTransactionsOf99WithTheCounterUpdate() {
+        when(client.transactWriteItems(any(TransactWriteItemsRequest.class))).thenReturn(TransactWriteItemsResponse.builder().build());
+        List<Task> items = new ArrayList<>();
+        for (int i = 0; i < 150; i++) {
+            Task item = new Task(LIST, "S" + i, "item " + i);
+            item.setDone(i < 100);
+            items.add(item);
+        }
+
+        BatchOutcome<Task> outcome = repository.createItemsInList(OWNER, LIST, items);
+
+        assertEquals(150, outcome.getSucceeded().size());
+        ArgumentCaptor<TransactWriteItemsRequest> captor = ArgumentCaptor.forClass(TransactWriteItemsRequest.class);
+        verify(client, times(2)).transactWriteItems(captor.capture());
+
+        List<TransactWriteItem> first = captor.getAllValues().get(0).transactItems();
+        assertEquals(100, first.size());
+        assertEquals("99", first.get(0).update().expressionAttributeValues().get(":items").n());
+        assertEquals("99", first.get(0).update().expressionAttributeValues().get(":done").n());
+        assertEquals("attribute_not_exists(pk)", first.get(1).put().conditionExpression());
+        assertEquals(OWNER, first.get(1).put().item().get("ownerPk").s());
+
+        List<TransactWriteItem> second = captor.getAllValues().get(1).transactItems();
+        assertEquals(52, second.size());
+        assertEquals("51", second.get(0).update().expressionAttributeValues().get(":items").n());
+        assertEquals("1", second.get(0).update().expressionAttributeValues().get(":done").n());
+    }
+
+    @Test
+    void shouldFailRemainingChunksWhenListIsGone() {
+        when(client.transactWriteItems(any(TransactWriteItemsRequest.class))).thenThrow(cancelledAt(0, 100));
+        List<Task> items = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            items.add(new Task(LIST, "S" + i, "item " + i));
+        }
+
+        BatchOutcome<Task> outcome = repository.createItemsInList(OWNER, LIST, items);
+
+        assertEquals(0, outcome.getSucceeded().size());
+        assertEquals(120, outcome.getFailed().size());
+        verify(client, times(1)).transactWriteItems(any(TransactWriteItemsRequest.class));
+    }
+
+    @Test
+    void shouldDeleteItemsAndDecrementCountersInTheSameTransaction() {
+        when(client.batchGetItem(any(BatchGetItemRequest.class))).thenReturn(batchGetResponse(
+                item("A1", true), item("B2", false)));
+        when(client.transactWriteItems(any(TransactWriteItemsRequest.class))).thenReturn(TransactWriteItemsResponse.builder().build());
+
+        BatchOutcome<Key> outcome = repository.deleteItemsInList(LIST, List.of("A1", "B2", "C3"));
+
+        // C3 não existe: conta como removido, sem descontar os contadores
+        assertEquals(3, outcome.getSucceeded().size());
+        assertEquals(0, outcome.getFailed().size());
+
+        ArgumentCaptor<BatchGetItemRequest> read = ArgumentCaptor.forClass(BatchGetItemRequest.class);
+        verify(client).batchGetItem(read.capture());
+        assertTrue(read.getValue().requestItems().get(TABLE).consistentRead());
+
+        ArgumentCaptor<TransactWriteItemsRequest> captor = ArgumentCaptor.forClass(TransactWriteItemsRequest.class);
+        verify(client).transactWriteItems(captor.capture());
+        List<TransactWriteItem> writes = captor.getValue().transactItems();
+        assertEquals(3, writes.size());
+        assertEquals(OWNER, writes.get(0).update().key().get("pk").s());
+        assertEquals("-2", writes.get(0).update().expressionAttributeValues().get(":items").n());
+        assertEquals("-1", writes.get(0).update().expressionAttributeValues().get(":done").n());
+        assertEquals("#done = :done", writes.get(1).delete().conditionExpression());
+    }
+
+    @Test
+    void shouldRereadItemsWhenAConcurrentChangeCancelsTheTransaction() {
+        // Na segunda leitura o item já foi removido por outra requisição: não pode ser descontado de novo
+        when(client.batchGetItem(any(BatchGetItemRequest.class)))
+                .thenReturn(batchGetResponse(item("A1", false)))
+                .thenReturn(batchGetResponse());
+        when(client.transactWriteItems(any(TransactWriteItemsRequest.class))).thenThrow(cancelledAt(1, 2));
+
+        BatchOutcome<Key> outcome = repository.deleteItemsInList(LIST, List.of("A1"));
+
+        assertEquals(1, outcome.getSucceeded().size());
+        verify(client, times(2)).batchGetItem(any(BatchGetItemRequest.class));
+        verify(client, times(1)).transactWriteItems(any(TransactWriteItemsRequest.class));
+    }
+
+    @Test
+    void shouldNotTouchCountersForItemsWithoutOwner() {
+        Map<String, AttributeValue> legacy = item("A1", false);
+        legacy.remove("ownerPk");
+        when(client.batchGetItem(any(BatchGetItemRequest.class))).thenReturn(batchGetResponse(legacy));
+        when(client.transactWriteItems(any(TransactWriteItemsRequest.class))).thenReturn(TransactWriteItemsResponse.builder().build());
+
+        BatchOutcome<Key> outcome = repository.deleteItemsInList(LIST, List.of("A1"));
+
+        assertEquals(1, outcome.getSucceeded().size());
+        // Só o Delete condicional, sem o Update do cabeçalho
+        ArgumentCaptor<TransactWriteItemsRequest> captor = ArgumentCaptor.forClass(TransactWriteItemsRequest.class);
+        verify(client).transactWriteItems(captor.capture());
+        List<TransactWriteItem> writes = captor.getValue().transactItems();
+        assertEquals(1, writes.size());
+        assertEquals("A1", writes.get(0).delete().key().get("sk").s());
+    }
+
+    @Test
+    void shouldDeleteItemsOfARemovedListWithoutCounters() {
+        // A lista dona foi removida: a transação com o contador falha no cabeçalho e os itens saem sem ele
+        when(client.batchGetItem(any(BatchGetItemRequest.class))).thenReturn(batchGetResponse(item("A1", false)));
+        when(client.transactWriteItems(any(TransactWriteItemsRequest.class)))
+                .thenThrow(cancelledAt(0, 2))
+                .thenReturn(TransactWriteItemsResponse.builder().build());
+
+        BatchOutcome<Key> outcome = repository.deleteItemsInList(LIST, List.of("A1"));
+
+        assertEquals(1, outcome.getSucceeded().size());
+        ArgumentCaptor<TransactWriteItemsRequest> captor = ArgumentCaptor.forClass(TransactWriteItemsRequest.class);
+        verify(client, times(2)).transactWriteItems(captor.capture());
+        assertEquals(1, captor.getAllValues().get(1).transactItems().size());
+        assertEquals("A1", captor.getAllValues().get(1).transactItems().get(0).delete().key().get("sk").s());
+    }
+
+    @Test
+    void shouldReturnBatchGetResultsInRequestedOrderOncePerKey() {
+        List<BatchGetItemRequest> requests = new ArrayList<>();
+        when(client.batchGetItem(any(BatchGetItemRequest.class))).thenAnswer(invocation -> {
+            requests.add(invocation.getArgument(0));
+            if (requests.size() == 1) {
+                // Fora de ordem, e o C3 fica sem processar
+                return BatchGetItemResponse.builder()
+                        .responses(Map.of(TABLE, List.of(item("B2", false), item("A1", false))))
+                        .unprocessedKeys(Map.of(TABLE, KeysAndAttributes.builder().keys(List.of(keyMap("C3"))).build()))
+                        .build();
+            }
+            return batchGetResponse(item("C3", false));
+        });
+
+        List<Task> tasks = repository.batchGetTasks(List.of(key("C3"), key("A1"), key("B2"), key("A1"), key("D4")));
+
+        assertEquals(List.of("C3", "A1", "B2"), tasks.stream().map(Task::getSk).toList());
+        assertEquals(4, requests.get(0).requestItems().get(TABLE).keys().size());
+        assertEquals(List.of(keyMap("C3")), requests.get(1).requestItems().get(TABLE).keys());
+    }
+
+    @Test
+    void shouldThrowWhenBatchGetKeysStayUnprocessed() {
+        when(client.batchGetItem(any(BatchGetItemRequest.class))).thenReturn(BatchGetItemResponse.builder()
+                .responses(Map.of())
+                .unprocessedKeys(Map.of(TABLE, KeysAndAttributes.builder().keys(List.of(keyMap("A1"))).build()))
+                .build());
+
+        assertThrows(IllegalStateException.class, () -> repository.batchGetTasks(List.of(key("A1"))));
+        verify(client, times(TaskRepository.MAX_ATTEMPTS)).batchGetItem(any(BatchGetItemRequest.class));
+    }
+
+    @Test
+    void shouldReturnNullWhenDescriptionTargetDoesNotExist() {
+        // Sem item, o ALL_OLD não devolve nada: 404
+        when(client.updateItem(any(UpdateItemRequest.class))).thenThrow(conditionFailedWith(Map.of()));
+
+        assertNull(repository.updateDescription(LIST, "A1", "Leite", 3L));
+    }
+
+    @Test
+    void shouldThrowVersionConflictWhenDescriptionTargetIsInAnotherVersion() {
+        // O item existe e volta no ALL_OLD: a condição falhou pela versão, 409
+        Map<String, AttributeValue> current = item("A1", false);
+        current.put("version", AttributeValue.builder().n("5").build());
+        when(client.updateItem(any(UpdateItemRequest.class))).thenThrow(conditionFailedWith(current));
+
+        assertThrows(VersionConflictException.class, () -> repository.updateDescription(LIST, "A1", "Leite", 3L));
+
+        ArgumentCaptor<UpdateItemRequest> captor = ArgumentCaptor.forClass(UpdateItemRequest.class);
+        verify(client).updateItem(captor.capture());
+        assertEquals("attribute_exists(pk) AND #version = :expected", captor.getValue().conditionExpression());
+        assertEquals(ReturnValuesOnConditionCheckFailure.ALL_OLD, captor.getValue().returnValuesOnConditionCheckFailure());
+    }
+
+    @Test
+    void shouldUpdateItemWithSingleWriteWhenDoneDoesNotChange() {
+        Map<String, AttributeValue> updated = item("A1", true);
+        updated.put("description", AttributeValue.builder().s("Leite").build());
+        when(client.updateItem(any(UpdateItemRequest.class))).thenReturn(UpdateItemResponse.builder().attributes(updated).build());
+
+        Task task = repository.updateItem(LIST, "A1", "Leite", true, null);
+
+        assertEquals("Leite", task.getDescription());
+        ArgumentCaptor<UpdateItemRequest> captor = ArgumentCaptor.forClass(UpdateItemRequest.class);
+        verify(client).updateItem(captor.capture());
+        assertEquals("attribute_exists(pk) AND #done = :done", captor.getValue().conditionExpression());
+        verify(client, never()).transactWriteItems(any(TransactWriteItemsRequest.class));
+        verify(table, never()).getItem(any(Key.class));
+    }
+
+    @Test
+    void shouldMoveDoneCounterWithTheItemWhenDoneChanges() {
+        Map<String, AttributeValue> old = item("A1", false);
+        old.put("version", AttributeValue.builder().n("3").build());
+        when(client.updateItem(any(UpdateItemRequest.class))).thenThrow(conditionFailedWith(old));
+        when(client.transactWriteItems(any(TransactWriteItemsRequest.class))).thenReturn(TransactWriteItemsResponse.builder().build());
+
+        Task task = repository.updateItem(LIST, "A1", null, true, 3L);
+
+        assertTrue(task.getDone());
+        assertEquals(4L, task.getVersion());
+        ArgumentCaptor<TransactWriteItemsRequest> captor = ArgumentCaptor.forClass(TransactWriteItemsRequest.class);
+        verify(client).transactWriteItems(captor.capture());
+        List<TransactWriteItem> writes = captor.getValue().transactItems();
+        assertEquals("#version = :seen", writes.get(0).update().conditionExpression());
+        assertEquals(OWNER, writes.get(1).update().key().get("pk").s());
+        assertEquals("1", writes.get(1).update().expressionAttributeValues().get(":done").n());
+        verify(client, times(1)).updateItem(any(UpdateItemRequest.class));
+    }
+
+    @Test
+    void shouldReturnNullWhenUpdatedItemDoesNotExist() {
+        when(client.updateItem(any(UpdateItemRequest.class))).thenThrow(conditionFailedWith(Map.of()));
+
+        assertNull(repository.updateItem(LIST, "A1", null, true, null));
+        verify(client, never()).transactWriteItems(any(TransactWriteItemsRequest.class));
+    }
+
+    @Test
+    void shouldThrowVersionConflictWhenUpdatedItemIsInAnotherVersion() {
+        Map<String, AttributeValue> old = item("A1", false);
+        old.put("version", AttributeValue.builder().n("5").build());
+        when(client.updateItem(any(UpdateItemRequest.class))).thenThrow(conditionFailedWith(old));
+
+        assertThrows(VersionConflictException.class, () -> repository.updateItem(LIST, "A1", null, true, 3L));
+        verify(client, never()).transactWriteItems(any(TransactWriteItemsRequest.class));
+    }
+
+    private static Key key(String sk) {
+        return Key.builder().partitionValue(LIST).sortValue(sk).build();
+    }
+
+    private static Map<String, AttributeValue> keyMap(String sk) {
+        return Map.of("pk", AttributeValue.builder().s(LIST).build(), "sk", AttributeValue.builder().s(sk).build());
+    }
+
+    private static Map<String, AttributeValue> item(String sk, boolean done) {
+        Map<String, AttributeValue> item = new HashMap<>();
+        item.put("pk", AttributeValue.builder().s(LIST).build());
+        item.put("sk", AttributeValue.builder().s(sk).build());
+        item.put("done", AttributeValue.builder().bool(done).build());
+        item.put("ownerPk", AttributeValue.builder().s(OWNER).build());
+        return item;
+    }
+
+    @SafeVarargs
+    private static BatchGetItemResponse batchGetResponse(Map<String, AttributeValue>... items) {
+        return BatchGetItemResponse.builder()
+                .responses(Map.of(TABLE, List.of(items)))
+                .unprocessedKeys(Map.of())
+                .build();
+    }
+
+    private static ConditionalCheckFailedException conditionFailedWith(Map<String, AttributeValue> item) {
+        return ConditionalCheckFailedException.builder().item(item).build();
+    }
+
+    // Cancelamento de uma transação com 'size' operações em que só a de índice 'index' falhou pela condição
+    private static TransactionCanceledException cancelledAt(int index, int size) {
+        List<CancellationReason> reasons = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            reasons.add(CancellationReason.builder().code(i == index ? "ConditionalCheckFailed" : "None").build());
+        }
+        return TransactionCanceledException.builder().cancellationReasons(reasons).build();
+    }
+}
@@ -0,0 +1,80 @@
+package util;
+
+import model.Task;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+public class ExportFingerprintTest {
+
+    private String hashOf(String pk, Task... tasks) {
+        return ExportFingerprint.of(pk, List.of(tasks).iterator()).getHash();
+    }
+
+    @Test
+    void shouldBeStableForSameContent() {
+        assertEquals(hashOf("LIST#1", new Task("LIST#1", "A1", "Comprar pão")),
+                hashOf("LIST#1", new Task("LIST#1", "A1", "Comprar pão")));
+    }
+
+    @Test
+    void shouldChangeWhenItemChanges() {
+        Task original = new Task("LIST#1", "A1", "Comprar pão");
+        Task updated = new Task("LIST#1", "A1", "Comprar pão");
+        updated.setVersion(2L);
+
+        String before = hashOf("LIST#1", original);
+
+        assertNotEquals(before, hashOf("LIST#1", updated));
+        assertNotEquals(before, hashOf("LIST#1", original, new Task("LIST#1", "B2", "Leite")));
+        assertNotEquals(before, hashOf("LIST#2", original));
+    }
+
+    @Test
+    void shouldCountItems() {
+        assertEquals(0, ExportFingerprint.of("LIST#1", List.<Task>of().iterator()).getItemCount());
+        assertEquals(2, ExportFingerprint.of("LIST#1", List.of(new Task("LIST#1", "A1", "x"), new Task("LIST#1", "B2", "y")).iterator()).getItemCount());
+    }
+
+    @Test
+    void shouldHashItemsAsTheyPassThrough() {
+        List<Task> tasks = List.of(new Task("LIST#1", "A1", "x"), new Task("LIST#1", "B2", "y"));
+        ExportFingerprint.Hasher hasher = ExportFingerprint.hashing("LIST#1", tasks.iterator());
+
+        List<Task> delivered = new ArrayList<>();
+        hasher.forEachRemaining(delivered::add);
+
+        assertEquals(tasks, delivered);
+        assertEquals(ExportFingerprint.of("LIST#1", tasks.iterator()).getHash(), hasher.finish().getHash());
+    }
+
+    @Test
+    void shouldMatchProjectedAndFullItems() {
+        Task full = new Task("LIST#1", "A1", "Comprar pão");
+        full.setVersion(3L);
+        full.setUpdatedAt("2026-10-02T08:00:00.000Z");
+        full.setDone(true);
+        full.setOwnerPk("USER#milena");
+        // O que a consulta com ProjectionExpression devolve: só chaves, versão e updatedAt
+        Task projected = new Task("LIST#1", "A1", null);
+        projected.setVersion(3L);
+        projected.setUpdatedAt("2026-10-02T08:00:00.000Z");
+
+        assertEquals(hashOf("LIST#1", full), hashOf("LIST#1", projected));
+    }
+
+    @Test
+    void shouldChangeWhenOnlyUpdatedAtChanges() {
+        // Os contadores do cabeçalho mudam o updatedAt sem mudar a versão
+        Task header = new Task("USER#milena", "LIST#1", "Mercado");
+        header.setUpdatedAt("2026-10-02T08:00:00.000Z");
+        Task touched = new Task("USER#milena", "LIST#1", "Mercado");
+        touched.setUpdatedAt("2026-10-02T09:00:00.000Z");
+
+        assertNotEquals(hashOf("USER#milena", header), hashOf("USER#milena", touched));
+    }
+}
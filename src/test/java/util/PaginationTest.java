@@ -0,0 +1,46 @@
+package util;
+
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class PaginationTest {
+
+    private static final String PK = "LIST#1";
+
+    private static String tokenOf(String json) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void shouldDecodeTokenOfTheRequestedPk() {
+        Map<String, AttributeValue> lastKey = Map.of(
+                "pk", AttributeValue.builder().s(PK).build(),
+                "sk", AttributeValue.builder().s("A1").build());
+
+        assertEquals(lastKey, Pagination.decodeToken(Pagination.encodeToken(lastKey), PK));
+        assertNull(Pagination.decodeToken(null, PK));
+    }
+
+    @Test
+    void shouldRejectTokenWithOtherKeys() {
+        assertThrows(IllegalArgumentException.class, () -> Pagination.decodeToken(tokenOf("{\"pk\":\"LIST#1\"}"), PK));
+        assertThrows(IllegalArgumentException.class,
+                () -> Pagination.decodeToken(tokenOf("{\"pk\":\"LIST#1\",\"sk\":\"A1\",\"updatedAt\":\"x\"}"), PK));
+        assertThrows(IllegalArgumentException.class, () -> Pagination.decodeToken(tokenOf("{\"pk\":\"LIST#1\",\"sk\":\"\"}"), PK));
+    }
+
+    @Test
+    void shouldRejectTokenOfAnotherPkOrMalformed() {
+        assertThrows(IllegalArgumentException.class, () -> Pagination.decodeToken(tokenOf("{\"pk\":\"LIST#2\",\"sk\":\"A1\"}"), PK));
+        assertThrows(IllegalArgumentException.class, () -> Pagination.decodeToken(tokenOf("[1,2]"), PK));
+        assertThrows(IllegalArgumentException.class, () -> Pagination.decodeToken("não-é-um-token", PK));
+    }
+}
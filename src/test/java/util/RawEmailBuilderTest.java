@@ -0,0 +1,109 @@
+package util;
+
+import jakarta.mail.BodyPart;
+import jakarta.mail.Session;
+import jakarta.mail.internet.AddressException;
+import jakarta.mail.internet.MimeMessage;
+import jakarta.mail.internet.MimeMultipart;
+import jakarta.mail.internet.MimeUtility;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.core.SdkBytes;
+
+import java.util.Base64;
+import java.util.Properties;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class RawEmailBuilderTest {
+
+    private static MimeMessage parse(SdkBytes raw) throws Exception {
+        return new MimeMessage(Session.getDefaultInstance(new Properties()), raw.asInputStream());
+    }
+
+    @Test
+    void shouldBuildMessageWithTextAndAttachment() throws Exception {
+        byte[] report = new byte[100_000];
+        new Random(42).nextBytes(report);
+
+        SdkBytes raw = RawEmailBuilder.message("sender@example.com", "milena@test.com", RawEmailBuilder.REPORT_SUBJECT)
+                .text("Olá,\n\nSeu relatório está em anexo.")
+                .attachment("relatorio_tarefas.csv.gz", "application/gzip", report)
+                .build();
+
+        MimeMessage message = parse(raw);
+        assertEquals("sender@example.com", message.getFrom()[0].toString());
+        assertEquals("milena@test.com", message.getAllRecipients()[0].toString());
+        assertEquals("Seu Relatório de Tarefas está Pronto", message.getSubject());
+
+        MimeMultipart content = (MimeMultipart) message.getContent();
+        assertEquals(2, content.getCount());
+        assertEquals("Olá,\n\nSeu relatório está em anexo.", content.getBodyPart(0).getContent());
+
+        BodyPart attachment = content.getBodyPart(1);
+        assertEquals("relatorio_tarefas.csv.gz", attachment.getFileName());
+        assertArrayEquals(report, attachment.getInputStream().readAllBytes());
+    }
+
+    @Test
+    void shouldBuildMessageWithoutAttachment() throws Exception {
+        SdkBytes raw = RawEmailBuilder.message("sender@example.com", "milena@test.com", "Relatório")
+                .text("Baixe pelo link: https://example.com/relatorio.csv?X-Amz-Signature=abc")
+                .build();
+
+        MimeMultipart content = (MimeMultipart) parse(raw).getContent();
+        assertEquals(1, content.getCount());
+        assertEquals("Baixe pelo link: https://example.com/relatorio.csv?X-Amz-Signature=abc", content.getBodyPart(0).getContent());
+    }
+
+    @Test
+    void shouldComputeExactMimeBase64Length() {
+        for (int n : new int[]{0, 1, 2, 3, 56, 57, 58, 114, 1000, 65_536}) {
+            assertEquals(Base64.getMimeEncoder().encode(new byte[n]).length, RawEmailBuilder.encodedLength(n), "tamanho " + n);
+        }
+    }
+
+    @Test
+    void shouldRejectInvalidRecipient() {
+        assertThrows(AddressException.class, () ->
+                RawEmailBuilder.message("sender@example.com", "não é um e-mail", "Relatório").text("x").build());
+    }
+
+    @Test
+    void shouldEncodeNonAsciiAttachmentName() throws Exception {
+        SdkBytes raw = RawEmailBuilder.message("sender@example.com", "milena@test.com", "Relatório de março")
+                .text("x")
+                .attachment("relatório_março \"final\".csv", "text/csv", new byte[]{1, 2, 3})
+                .build();
+
+        MimeMessage message = parse(raw);
+        assertEquals("Relatório de março", message.getSubject());
+        BodyPart attachment = ((MimeMultipart) message.getContent()).getBodyPart(1);
+        assertEquals("relatório_março \"final\".csv", MimeUtility.decodeText(attachment.getFileName()));
+        assertEquals("text/csv", attachment.getContentType().split(";")[0]);
+    }
+
+    @Test
+    void shouldNotInjectHeadersThroughSubjectOrAttachmentName() throws Exception {
+        SdkBytes raw = RawEmailBuilder.message("sender@example.com", "milena@test.com", "Relatório\r\nBcc: intruso@example.com")
+                .text("x")
+                .attachment("relatorio.csv\r\nBcc: intruso@example.com", "text/csv", new byte[]{1})
+                .build();
+
+        MimeMessage message = parse(raw);
+        assertNull(message.getHeader("Bcc"));
+        BodyPart attachment = ((MimeMultipart) message.getContent()).getBodyPart(1);
+        assertNull(attachment.getHeader("Bcc"));
+        assertEquals("relatorio.csv  Bcc: intruso@example.com", MimeUtility.decodeText(attachment.getFileName()));
+    }
+
+    @Test
+    void shouldRejectInvalidAttachmentType() {
+        assertThrows(IllegalArgumentException.class, () ->
+                RawEmailBuilder.message("sender@example.com", "milena@test.com", "Relatório")
+                        .attachment("relatorio.csv", "text/csv\r\nBcc: intruso@example.com", new byte[]{1}));
+    }
+}
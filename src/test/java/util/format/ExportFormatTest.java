@@ -0,0 +1,108 @@
+package util.format;
+
+import model.Task;
+import org.apache.avro.file.DataFileStream;
+import org.apache.avro.generic.GenericDatumReader;
+import org.apache.avro.generic.GenericRecord;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ExportFormatTest {
+
+    private final List<Task> tasks = List.of(
+            new Task("USER#123", "TASK#1", "Comprar pão"),
+            new Task("USER#123", "TASK#2", null)
+    );
+
+    @Test
+    void shouldResolveFormatFromParam() {
+        assertSame(CsvExportFormat.INSTANCE, ExportFormat.fromParam(null));
+        assertSame(NdjsonExportFormat.INSTANCE, ExportFormat.fromParam("NDJSON"));
+        assertSame(AvroExportFormat.INSTANCE, ExportFormat.fromParam("avro"));
+        assertThrows(IllegalArgumentException.class, () -> ExportFormat.fromParam("xlsx"));
+    }
+
+    @Test
+    void shouldWriteOneJsonObjectPerLine() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long rows = NdjsonExportFormat.INSTANCE.write(tasks.iterator(), out);
+
+        assertEquals(2, rows);
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertEquals("{\"pk\":\"USER#123\",\"sk\":\"TASK#1\",\"description\":\"Comprar pão\",\"version\":null,\"updatedAt\":null,\"done\":null}", lines[0]);
+    }
+
+    @Test
+    void shouldLeaveInternalAttributesOutOfTheExport() throws IOException {
+        Task header = new Task("USER#123", "LIST#1", "Mercado");
+        header.setOwnerPk("USER#123");
+        header.setItemCount(3L);
+        header.setDoneCount(1L);
+
+        ByteArrayOutputStream csv = new ByteArrayOutputStream();
+        CsvExportFormat.INSTANCE.write(List.of(header).iterator(), csv);
+        ByteArrayOutputStream ndjson = new ByteArrayOutputStream();
+        NdjsonExportFormat.INSTANCE.write(List.of(header).iterator(), ndjson);
+
+        assertEquals("\"pk\",\"sk\",\"description\",\"version\",\"updatedAt\",\"done\"",
+                csv.toString(StandardCharsets.UTF_8).lines().findFirst().orElseThrow());
+        String line = ndjson.toString(StandardCharsets.UTF_8);
+        assertFalse(line.contains("ownerPk"));
+        assertFalse(line.contains("itemCount"));
+        assertFalse(line.contains("doneCount"));
+        assertEquals(ExportColumns.NAMES, AvroExportFormat.SCHEMA.getFields().stream().map(field -> field.name()).toList());
+    }
+
+    @Test
+    void shouldPrefixAccountRowsWithListId() throws IOException {
+        Task header = new Task("USER#123", "LIST#1", "Mercado");
+        Task item = new Task("LIST#1", "A1", "Leite");
+        List<AccountRow> rows = List.of(new AccountRow("LIST#1", header), new AccountRow("LIST#1", item));
+
+        ByteArrayOutputStream csv = new ByteArrayOutputStream();
+        assertEquals(2, CsvExportFormat.INSTANCE.writeAccount(rows.iterator(), csv));
+        ByteArrayOutputStream ndjson = new ByteArrayOutputStream();
+        NdjsonExportFormat.INSTANCE.writeAccount(rows.iterator(), ndjson);
+
+        List<String> csvLines = csv.toString(StandardCharsets.UTF_8).lines().toList();
+        assertEquals("\"listId\",\"pk\",\"sk\",\"description\",\"version\",\"updatedAt\",\"done\"", csvLines.get(0));
+        assertEquals("\"LIST#1\",\"USER#123\",\"LIST#1\",\"Mercado\",,,", csvLines.get(1));
+        assertEquals("{\"listId\":\"LIST#1\",\"pk\":\"LIST#1\",\"sk\":\"A1\",\"description\":\"Leite\",\"version\":null,\"updatedAt\":null,\"done\":null}",
+                ndjson.toString(StandardCharsets.UTF_8).split("\n")[1]);
+        assertEquals(ExportColumns.ACCOUNT_NAMES, AvroExportFormat.ACCOUNT_SCHEMA.getFields().stream().map(field -> field.name()).toList());
+    }
+
+    @Test
+    void shouldWriteReadableAvroContainer() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long rows = AvroExportFormat.INSTANCE.write(tasks.iterator(), out);
+
+        assertEquals(2, rows);
+
+        List<GenericRecord> records = new ArrayList<>();
+        try (DataFileStream<GenericRecord> reader = new DataFileStream<>(
+                new ByteArrayInputStream(out.toByteArray()), new GenericDatumReader<>())) {
+            reader.forEach(records::add);
+        }
+
+        assertEquals(2, records.size());
+        assertEquals("TASK#1", records.get(0).get("sk").toString());
+        assertEquals("Comprar pão", records.get(0).get("description").toString());
+        assertNull(records.get(1).get("description"));
+    }
+}
@@ -36,6 +36,15 @@ module "dynamodb" {
   range_key_name = "sk"
   range_key_type = "S"
 
+  # Itens por data de alteração, para as exportações incrementais
+  global_secondary_indexes = [
+    {
+      name           = "pk-updatedAt-index"
+      range_key      = "updatedAt"
+      range_key_type = "S"
+    }
+  ]
+
   tags = {
     project = "TODOLambdaJava"
     ManagedBy   = "Terraform"
@@ -54,7 +63,8 @@ resource "aws_iam_policy" "lambda_dynamodb_write_policy" {
           "dynamodb:PutItem",
           "dynamodb:GetItem",
           "dynamodb:UpdateItem",
-          "dynamodb:DeleteItem"
+          "dynamodb:DeleteItem",
+          "dynamodb:ConditionCheckItem"
         ],
         "Resource": module.dynamodb.table_arn
       }
@@ -73,9 +83,11 @@ resource "aws_iam_policy" "lambda_dynamodb_read_policy" {
         "Action": [
           "dynamodb:Scan",
           "dynamodb:Query",
-          "dynamodb:GetItem"
+          "dynamodb:GetItem",
+          "dynamodb:BatchGetItem"
         ],
-        "Resource": module.dynamodb.table_arn
+        # Inclui os índices secundários (consulta das exportações incrementais)
+        "Resource": [module.dynamodb.table_arn, "${module.dynamodb.table_arn}/index/*"]
       }
     ]
   })
@@ -183,6 +195,10 @@ module "ListById" {
   memory_size = 1024
   timeout = 60
   tasks_table_name = module.dynamodb.table_name
+  # Cache das leituras por chave (cabeçalhos de lista) no container
+  environment_variables = {
+    TASK_CACHE_TTL_SECONDS = "30"
+  }
   tags = {
     Project   = "TODOLambdaJava"
     ManagedBy = "Terraform"
@@ -315,22 +331,115 @@ output "arn_da_delete_item_list_lambda" {
   value = module.DeleteItemList.lambda_function_arn
 }
 
+# BulkCreateItemList Module
+module "BulkCreateItemList" {
+  source = "./modules/lambda"
+
+  function_name = "BulkCreateItemList"
+  handler = "controller.item.BulkCreateItemList::handleRequest"
+  runtime = "java21"
+  source_code_path = "../target/TODOLambdaJava-1.0-SNAPSHOT.jar"
+  memory_size = 1024
+  timeout = 60
+  tasks_table_name = module.dynamodb.table_name
+  # Cache das leituras por chave (cabeçalhos de lista) no container
+  environment_variables = {
+    TASK_CACHE_TTL_SECONDS = "30"
+  }
+  tags = {
+    Project   = "TODOLambdaJava"
+    ManagedBy = "Terraform"
+  }
+}
+
+resource "aws_iam_role_policy_attachment" "bulk_create_item_list_lambda_dynamodb_write_access" {
+  role = module.BulkCreateItemList.iam_role_name
+  policy_arn = aws_iam_policy.lambda_dynamodb_write_policy.arn
+}
+
+output "arn_da_bulk_create_item_list_lambda" {
+  description = "O ARN da função Lambda de criação em lote de itens"
+  value = module.BulkCreateItemList.lambda_function_arn
+}
+
+# BulkDeleteItemList Module
+module "BulkDeleteItemList" {
+  source = "./modules/lambda"
+
+  function_name = "BulkDeleteItemList"
+  handler = "controller.item.BulkDeleteItemList::handleRequest"
+  runtime = "java21"
+  source_code_path = "../target/TODOLambdaJava-1.0-SNAPSHOT.jar"
+  memory_size = 1024
+  timeout = 60
+  tasks_table_name = module.dynamodb.table_name
+  tags = {
+    Project   = "TODOLambdaJava"
+    ManagedBy = "Terraform"
+  }
+}
+
+resource "aws_iam_role_policy_attachment" "bulk_delete_item_list_lambda_dynamodb_write_access" {
+  role = module.BulkDeleteItemList.iam_role_name
+  policy_arn = aws_iam_policy.lambda_dynamodb_write_policy.arn
+}
+
+resource "aws_iam_role_policy_attachment" "bulk_delete_item_list_lambda_dynamodb_read_access" {
+  role = module.BulkDeleteItemList.iam_role_name
+  policy_arn = aws_iam_policy.lambda_dynamodb_read_policy.arn
+}
+
+output "arn_da_bulk_delete_item_list_lambda" {
+  description = "O ARN da função Lambda de remoção em lote de itens"
+  value = module.BulkDeleteItemList.lambda_function_arn
+}
+
+# UserOverview Module
+module "UserOverview" {
+  source = "./modules/lambda"
+
+  function_name = "UserOverview"
+  handler = "controller.GetUserOverview::handleRequest"
+  runtime = "java21"
+  source_code_path = "../target/TODOLambdaJava-1.0-SNAPSHOT.jar"
+  memory_size = 1024
+  timeout = 60
+  tasks_table_name = module.dynamodb.table_name
+  tags = {
+    Project   = "TODOLambdaJava"
+    ManagedBy = "Terraform"
+  }
+}
+
+resource "aws_iam_role_policy_attachment" "user_overview_lambda_dynamodb_read_access" {
+  role = module.UserOverview.iam_role_name
+  policy_arn = aws_iam_policy.lambda_dynamodb_read_policy.arn
+}
+
+output "arn_da_user_overview_lambda" {
+  description = "O ARN da função Lambda de visão geral do usuário (listas e itens)"
+  value = module.UserOverview.lambda_function_arn
+}
+
 # ApiGateway
 module "ApiRest" {
   source = "./modules/apigateway"
   bucket_name = "${var.bucket_name}-api"
 
-  uri_create_list = module.CreateList.lambda_function_arn
-  uri_list_lists = module.ListLists.lambda_function_arn
-  uri_update_list = module.UpdateList.lambda_function_arn
-  uri_get_list_by_id = module.ListById.lambda_function_arn
+  uri_create_list = module.CreateList.lambda_alias_arn
+  uri_list_lists = module.ListLists.lambda_alias_arn
+  uri_update_list = module.UpdateList.lambda_alias_arn
+  uri_get_list_by_id = module.ListById.lambda_alias_arn
 
-  uri_create_item_list = module.CreateItemList.lambda_function_arn
-  uri_list_items_list = module.ListItemsList.lambda_function_arn
-  uri_update_item_list = module.UpdateItemList.lambda_function_arn
-  uri_delete_item_list = module.DeleteItemList.lambda_function_arn
+  uri_create_item_list = module.CreateItemList.lambda_alias_arn
+  uri_list_items_list = module.ListItemsList.lambda_alias_arn
+  uri_update_item_list = module.UpdateItemList.lambda_alias_arn
+  uri_delete_item_list = module.DeleteItemList.lambda_alias_arn
 
-  uri_export_request_list = module.ExportRequest.lambda_function_arn
+  uri_export_request_list = module.ExportRequest.lambda_alias_arn
+  uri_user_overview = module.UserOverview.lambda_alias_arn
+  uri_bulk_delete_item_list = module.BulkDeleteItemList.lambda_alias_arn
+  uri_bulk_create_item_list = module.BulkCreateItemList.lambda_alias_arn
 
   function_create_list = module.CreateList.lambda_function_name
   function_list_lists = module.ListLists.lambda_function_name
@@ -343,6 +452,9 @@ module "ApiRest" {
   function_delete_item_list = module.DeleteItemList.lambda_function_name
 
   function_export_request_list = module.ExportRequest.lambda_function_name
+  function_user_overview = module.UserOverview.lambda_function_name
+  function_bulk_delete_item_list = module.BulkDeleteItemList.lambda_function_name
+  function_bulk_create_item_list = module.BulkCreateItemList.lambda_function_name
 
   cognito_user_pool_arn = module.Cognito.user_pool_arn
   redeployment_trigger = timestamp()
@@ -412,7 +524,10 @@ resource "aws_iam_policy" "lambda_export_process_policy" {
       },
       {
         Effect   = "Allow",
-        Action   = "s3:PutObject",
+        # PutObject também cobre as chamadas de multipart upload; o Abort descarta uploads que falharam no meio
+        # GetObject permite conferir (HeadObject) e reaproveitar exportações já geradas; com o DeleteObject, move o arquivo
+        # de uma lista que mudou durante a exportação para a chave do conteúdo escrito
+        Action   = ["s3:PutObject", "s3:AbortMultipartUpload", "s3:GetObject", "s3:DeleteObject"],
         # Concede acesso de escrita apenas na pasta 'exports/' do seu bucket
         Resource = "${aws_s3_bucket.this.arn}/exports/*"
       }
@@ -465,6 +580,13 @@ module "ExportProcess" {
     # TASKS_TABLE é adicionada automaticamente pelo módulo
     S3_BUCKET_NAME = aws_s3_bucket.this.bucket # Pega o nome do bucket já criado
     SES_FROM_EMAIL = var.ses_from_email
+    # Quantas mensagens do lote são exportadas ao mesmo tempo
+    EXPORT_MAX_CONCURRENCY = "5"
+    # Listas lidas em paralelo em cada exportação da conta inteira (mode=account)
+    EXPORT_ACCOUNT_PARALLELISM = "16"
+    # Acima desse tamanho o relatório vai por link temporário em vez de anexo
+    EXPORT_ATTACHMENT_MAX_BYTES = "5242880"
+    EXPORT_LINK_TTL_MINUTES     = "60"
   }
 
   tasks_table_name = module.dynamodb.table_name
@@ -481,6 +603,12 @@ resource "aws_iam_role_policy_attachment" "export_process_dynamodb_access" {
   policy_arn = aws_iam_policy.lambda_dynamodb_read_policy.arn
 }
 
+# Escrita para gravar a marca d'água da última exportação incremental
+resource "aws_iam_role_policy_attachment" "export_process_dynamodb_write_access" {
+  role       = module.ExportProcess.iam_role_name
+  policy_arn = aws_iam_policy.lambda_dynamodb_write_policy.arn
+}
+
 resource "aws_iam_role_policy_attachment" "export_process_s3_ses_access" {
   role       = module.ExportProcess.iam_role_name
   policy_arn = aws_iam_policy.lambda_export_process_policy.arn
@@ -516,6 +644,9 @@ resource "aws_iam_role_policy_attachment" "export_process_sqs_access" {
 # Cria o gatilho que conecta o SQS à Lambda ExportProcess
 resource "aws_lambda_event_source_mapping" "export_sqs_trigger" {
   event_source_arn = aws_sqs_queue.report_queue.arn
-  function_name    = module.ExportProcess.lambda_function_arn
-  batch_size       = 1 # Processa uma mensagem de cada vez
+  # O alias aponta para a versão publicada (SnapStart)
+  function_name    = module.ExportProcess.lambda_alias_arn
+  batch_size       = 10
+  # A Lambda devolve só os messageIds que falharam; as mensagens já exportadas não voltam para a fila
+  function_response_types = ["ReportBatchItemFailures"]
 }
\ No newline at end of file
@@ -92,6 +92,24 @@ resource "aws_api_gateway_resource" "export" {
   path_part   = "export"
 }
 
+resource "aws_api_gateway_resource" "bulk_create_item_list" {
+  rest_api_id = aws_api_gateway_rest_api.api.id
+  parent_id   = aws_api_gateway_resource.item_list.id
+  path_part   = "bulk-create-item-list"
+}
+
+resource "aws_api_gateway_resource" "bulk_delete_item_list" {
+  rest_api_id = aws_api_gateway_rest_api.api.id
+  parent_id   = aws_api_gateway_resource.item_list.id
+  path_part   = "bulk-delete-item-list"
+}
+
+resource "aws_api_gateway_resource" "user_overview" {
+  rest_api_id = aws_api_gateway_rest_api.api.id
+  parent_id   = aws_api_gateway_rest_api.api.root_resource_id
+  path_part   = "user-overview"
+}
+
 resource "aws_api_gateway_authorizer" "cognito_authorizer" {
   name          = "CognitoUserPoolAuthorizer"
   type          = "COGNITO_USER_POOLS"
@@ -180,6 +198,30 @@ resource "aws_api_gateway_method" "export_get" {
   authorizer_id = aws_api_gateway_authorizer.cognito_authorizer.id
 }
 
+resource "aws_api_gateway_method" "bulk_create_item_list_post" {
+  rest_api_id   = aws_api_gateway_rest_api.api.id
+  resource_id   = aws_api_gateway_resource.bulk_create_item_list.id
+  http_method   = "POST"
+  authorization = "COGNITO_USER_POOLS"
+  authorizer_id = aws_api_gateway_authorizer.cognito_authorizer.id
+}
+
+resource "aws_api_gateway_method" "bulk_delete_item_list_post" {
+  rest_api_id   = aws_api_gateway_rest_api.api.id
+  resource_id   = aws_api_gateway_resource.bulk_delete_item_list.id
+  http_method   = "POST"
+  authorization = "COGNITO_USER_POOLS"
+  authorizer_id = aws_api_gateway_authorizer.cognito_authorizer.id
+}
+
+resource "aws_api_gateway_method" "user_overview_get" {
+  rest_api_id   = aws_api_gateway_rest_api.api.id
+  resource_id   = aws_api_gateway_resource.user_overview.id
+  http_method   = "GET"
+  authorization = "COGNITO_USER_POOLS"
+  authorizer_id = aws_api_gateway_authorizer.cognito_authorizer.id
+}
+
 # ---- Integrations (Lambda Proxy) ----
 resource "aws_api_gateway_integration" "create_list" {
   rest_api_id = aws_api_gateway_rest_api.api.id
@@ -271,11 +313,42 @@ resource "aws_api_gateway_integration" "export_get_integration" {
   uri                     = "arn:aws:apigateway:${data.aws_region.current.name}:lambda:path/2015-03-31/functions/${var.uri_export_request_list}/invocations"
 }
 
+resource "aws_api_gateway_integration" "bulk_create_item_list" {
+  rest_api_id = aws_api_gateway_rest_api.api.id
+  resource_id = aws_api_gateway_resource.bulk_create_item_list.id
+  http_method = aws_api_gateway_method.bulk_create_item_list_post.http_method
+
+  integration_http_method = "POST"
+  type                    = "AWS_PROXY"
+  uri                     = "arn:aws:apigateway:${data.aws_region.current.name}:lambda:path/2015-03-31/functions/${var.uri_bulk_create_item_list}/invocations"
+}
+
+resource "aws_api_gateway_integration" "bulk_delete_item_list" {
+  rest_api_id = aws_api_gateway_rest_api.api.id
+  resource_id = aws_api_gateway_resource.bulk_delete_item_list.id
+  http_method = aws_api_gateway_method.bulk_delete_item_list_post.http_method
+
+  integration_http_method = "POST"
+  type                    = "AWS_PROXY"
+  uri                     = "arn:aws:apigateway:${data.aws_region.current.name}:lambda:path/2015-03-31/functions/${var.uri_bulk_delete_item_list}/invocations"
+}
+
+resource "aws_api_gateway_integration" "user_overview" {
+  rest_api_id = aws_api_gateway_rest_api.api.id
+  resource_id = aws_api_gateway_resource.user_overview.id
+  http_method = aws_api_gateway_method.user_overview_get.http_method
+
+  integration_http_method = "POST"
+  type                    = "AWS_PROXY"
+  uri                     = "arn:aws:apigateway:${data.aws_region.current.name}:lambda:path/2015-03-31/functions/${var.uri_user_overview}/invocations"
+}
+
 # Allow API Gateway to invoke Lambdas
 resource "aws_lambda_permission" "apigw_invoke_create" {
   statement_id  = "AllowAPIGatewayInvoke_create"
   action        = "lambda:InvokeFunction"
   function_name = var.function_create_list
+  qualifier     = var.lambda_alias
   principal     = "apigateway.amazonaws.com"
   source_arn    = "${aws_api_gateway_rest_api.api.execution_arn}/*/*"
 }
@@ -284,6 +357,7 @@ resource "aws_lambda_permission" "apigw_invoke_list" {
   statement_id  = "AllowAPIGatewayInvoke_list"
   action        = "lambda:InvokeFunction"
   function_name = var.function_list_lists
+  qualifier     = var.lambda_alias
   principal     = "apigateway.amazonaws.com"
   source_arn    = "${aws_api_gateway_rest_api.api.execution_arn}/*/*"
 }
@@ -292,6 +366,7 @@ resource "aws_lambda_permission" "apigw_invoke_update" {
   statement_id  = "AllowAPIGatewayInvoke_update"
   action        = "lambda:InvokeFunction"
   function_name = var.function_update_list
+  qualifier     = var.lambda_alias
   principal     = "apigateway.amazonaws.com"
   source_arn    = "${aws_api_gateway_rest_api.api.execution_arn}/*/*"
 }
@@ -300,6 +375,7 @@ resource "aws_lambda_permission" "apigw_invoke_list_by_id" {
   statement_id  = "AllowAPIGatewayInvoke_listById"
   action        = "lambda:InvokeFunction"
   function_name = var.function_get_list_by_id
+  qualifier     = var.lambda_alias
   principal     = "apigateway.amazonaws.com"
   source_arn    = "${aws_api_gateway_rest_api.api.execution_arn}/*/*"
 }
@@ -308,6 +384,7 @@ resource "aws_lambda_permission" "apigw_invoke_create_item" {
   statement_id  = "AllowAPIGatewayInvoke_create_item"
   action        = "lambda:InvokeFunction"
   function_name = var.function_create_item_list
+  qualifier     = var.lambda_alias
   principal     = "apigateway.amazonaws.com"
   source_arn    = "${aws_api_gateway_rest_api.api.execution_arn}/*/*"
 }
@@ -316,6 +393,7 @@ resource "aws_lambda_permission" "apigw_invoke_item_list" {
   statement_id  = "AllowAPIGatewayInvoke_list_items_list"
   action        = "lambda:InvokeFunction"
   function_name = var.function_list_items_list
+  qualifier     = var.lambda_alias
   principal     = "apigateway.amazonaws.com"
   source_arn    = "${aws_api_gateway_rest_api.api.execution_arn}/*/*"
 }
@@ -324,6 +402,7 @@ resource "aws_lambda_permission" "apigw_invoke_update_item_list" {
   statement_id  = "AllowAPIGatewayInvoke_update_item_list"
   action        = "lambda:InvokeFunction"
   function_name = var.function_update_item_list
+  qualifier     = var.lambda_alias
   principal     = "apigateway.amazonaws.com"
   source_arn    = "${aws_api_gateway_rest_api.api.execution_arn}/*/*"
 }
@@ -332,6 +411,7 @@ resource "aws_lambda_permission" "apigw_invoke_delete_item_list" {
   statement_id  = "AllowAPIGatewayInvoke_deleteItemList"
   action        = "lambda:InvokeFunction"
   function_name = var.function_delete_item_list
+  qualifier     = var.lambda_alias
   principal     = "apigateway.amazonaws.com"
   source_arn    = "${aws_api_gateway_rest_api.api.execution_arn}/*/*"
 }
@@ -340,11 +420,39 @@ resource "aws_lambda_permission" "apigw_export_request" {
   statement_id  = "AllowAPIGatewayInvoke"
   action        = "lambda:InvokeFunction"
   function_name = var.function_export_request_list
+  qualifier     = var.lambda_alias
   principal     = "apigateway.amazonaws.com"
 
   source_arn = "${aws_api_gateway_rest_api.api.execution_arn}/*/*"
 }
 
+resource "aws_lambda_permission" "apigw_invoke_bulk_create_item_list" {
+  statement_id  = "AllowAPIGatewayInvoke_bulk_create_item_list"
+  action        = "lambda:InvokeFunction"
+  function_name = var.function_bulk_create_item_list
+  qualifier     = var.lambda_alias
+  principal     = "apigateway.amazonaws.com"
+  source_arn    = "${aws_api_gateway_rest_api.api.execution_arn}/*/*"
+}
+
+resource "aws_lambda_permission" "apigw_invoke_bulk_delete_item_list" {
+  statement_id  = "AllowAPIGatewayInvoke_bulk_delete_item_list"
+  action        = "lambda:InvokeFunction"
+  function_name = var.function_bulk_delete_item_list
+  qualifier     = var.lambda_alias
+  principal     = "apigateway.amazonaws.com"
+  source_arn    = "${aws_api_gateway_rest_api.api.execution_arn}/*/*"
+}
+
+resource "aws_lambda_permission" "apigw_invoke_user_overview" {
+  statement_id  = "AllowAPIGatewayInvoke_user_overview"
+  action        = "lambda:InvokeFunction"
+  function_name = var.function_user_overview
+  qualifier     = var.lambda_alias
+  principal     = "apigateway.amazonaws.com"
+  source_arn    = "${aws_api_gateway_rest_api.api.execution_arn}/*/*"
+}
+
 # Deployment and Stage
 resource "aws_api_gateway_deployment" "deployment" {
   rest_api_id = aws_api_gateway_rest_api.api.id
@@ -367,6 +475,9 @@ resource "aws_api_gateway_deployment" "deployment" {
       aws_api_gateway_integration.delete_item_list.id,
 
       aws_api_gateway_integration.export_get_integration.id,
+      aws_api_gateway_integration.user_overview.id,
+      aws_api_gateway_integration.bulk_delete_item_list.id,
+      aws_api_gateway_integration.bulk_create_item_list.id,
 
       var.uri_create_list,
       var.uri_list_lists,
@@ -379,6 +490,9 @@ resource "aws_api_gateway_deployment" "deployment" {
       var.uri_delete_item_list,
 
       var.uri_export_request_list,
+      var.uri_user_overview,
+      var.uri_bulk_delete_item_list,
+      var.uri_bulk_create_item_list,
 
       var.redeployment_trigger
     ]))
@@ -395,7 +509,9 @@ resource "aws_api_gateway_deployment" "deployment" {
     aws_api_gateway_integration.update_item_list,
     aws_api_gateway_integration.delete_item_list,
 
-    aws_api_gateway_integration.export_get_integration
+    aws_api_gateway_integration.export_get_integration,
+    aws_api_gateway_integration.bulk_create_item_list,
+    aws_api_gateway_integration.user_overview
   ]
 }
 
@@ -44,4 +44,19 @@ variable "uri_export_request_list" {
 variable "function_export_request_list" {
   description = "O nome da função Lambda de solicitação de exportação"
   type        = string
-}
\ No newline at end of file
+}
+
+variable "uri_bulk_create_item_list" { type = string}
+variable "function_bulk_create_item_list" { type = string}
+
+variable "uri_bulk_delete_item_list" { type = string}
+variable "function_bulk_delete_item_list" { type = string}
+
+variable "uri_user_overview" { type = string}
+variable "function_user_overview" { type = string}
+
+variable "lambda_alias" {
+  description = "Alias das funções invocado pelas integrações (as permissões valem só para ele)"
+  type        = string
+  default     = "live"
+}
@@ -15,5 +15,23 @@ resource "aws_dynamodb_table" "this" {
       type = var.range_key_type
     }
   }
+  dynamic "attribute" {
+    for_each = var.global_secondary_indexes
+    content {
+      name = attribute.value.range_key
+      type = attribute.value.range_key_type
+    }
+  }
+
+  dynamic "global_secondary_index" {
+    for_each = var.global_secondary_indexes
+    content {
+      name            = global_secondary_index.value.name
+      hash_key        = var.hash_key_name
+      range_key       = global_secondary_index.value.range_key
+      projection_type = "ALL"
+    }
+  }
+
   tags = var.tags
 }
\ No newline at end of file
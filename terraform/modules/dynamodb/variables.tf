@@ -29,4 +29,14 @@ variable "tags" {
   description = "Range key type"
   type        = map(string)
   default     = {}
-}
\ No newline at end of file
+}
+
+variable "global_secondary_indexes" {
+  description = "Índices secundários globais (a chave de partição deve ser a mesma chave da tabela)"
+  type = list(object({
+    name           = string
+    range_key      = string
+    range_key_type = string
+  }))
+  default = []
+}
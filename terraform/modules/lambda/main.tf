@@ -37,6 +37,16 @@ resource "aws_lambda_function" "this" {
   filename = var.source_code_path
   source_code_hash = filebase64sha256(var.source_code_path)
 
+  # SnapStart só vale para versões publicadas
+  publish = var.snap_start
+
+  dynamic "snap_start" {
+    for_each = var.snap_start ? [1] : []
+    content {
+      apply_on = "PublishedVersions"
+    }
+  }
+
   environment {
     variables = merge(
       {
@@ -48,4 +58,12 @@ resource "aws_lambda_function" "this" {
 
   tags = var.tags
 
-}
\ No newline at end of file
+}
+
+# Alias estável para quem invoca a função (API Gateway, SQS): com SnapStart só as versões publicadas
+# são restauradas do snapshot, e o alias acompanha a versão publicada a cada deploy
+resource "aws_lambda_alias" "live" {
+  name             = "live"
+  function_name    = aws_lambda_function.this.function_name
+  function_version = var.snap_start ? aws_lambda_function.this.version : "$LATEST"
+}
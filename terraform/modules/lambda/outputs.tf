@@ -3,6 +3,21 @@ output "lambda_function_arn" {
   value = aws_lambda_function.this.arn
 }
 
+output "lambda_function_qualified_arn" {
+  description = "O ARN da última versão publicada (necessário para invocar com SnapStart)"
+  value = aws_lambda_function.this.qualified_arn
+}
+
+output "lambda_alias_arn" {
+  description = "O ARN do alias 'live', que aponta para a versão publicada; é o que deve ser invocado"
+  value = aws_lambda_alias.live.arn
+}
+
+output "lambda_alias_name" {
+  description = "O nome do alias invocado (qualifier das permissões de invocação)"
+  value = aws_lambda_alias.live.name
+}
+
 output "lambda_function_name" {
   description = "O nome da função Lambda criada"
   value = aws_lambda_function.this.function_name
@@ -41,4 +41,9 @@ variable "environment_variables" {
   description = "Um mapa de variáveis de ambiente para a função Lambda."
   type        = map(string)
   default     = {}
+}
+variable "snap_start" {
+  description = "Habilita o SnapStart (publica uma versão a cada deploy). Todas as funções do projeto são Java e registram o Priming."
+  type        = bool
+  default     = true
 }
\ No newline at end of file